@@ -0,0 +1,65 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.model.User;
+import com.project.banking.repository.UserRepository;
+import com.project.banking.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// One transfer per call through the full service path: row locks, balance updates, transaction insert, commit.
+// target=postgres uses application.properties, i.e. the docker-compose database; it only adds bench-* accounts.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class CreateTransactionBenchmark {
+
+    private static final int ACCOUNTS = 1000;
+
+    @Param({"h2"})
+    public String target;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE);
+        if ("h2".equals(target)) {
+            builder.profiles("test");
+        }
+        // A command-line argument: properties set on the builder are defaults, below application.properties
+        context = builder.run("--spring.jpa.show-sql=false");
+        transactionService = context.getBean(TransactionService.class);
+
+        List<User> users = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            users.add(new User("bench-" + i, "Bench " + i, "bench-" + i + "@example.com", 1_000_000_000L));
+        }
+        context.getBean(UserRepository.class).saveAll(users);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Long createTransaction() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int from = random.nextInt(ACCOUNTS);
+        int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+        return transactionService.createTransaction("bench-" + from, "bench-" + to, 1).getId();
+    }
+}
@@ -0,0 +1,93 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.model.User;
+import com.project.banking.repository.UserRepository;
+import com.project.banking.service.LedgerService;
+import com.project.banking.service.TransactionService;
+import com.project.banking.service.UserService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Many payers crediting one merchant account while it pays out and its ledger is compacted, by shard count.
+// Scaling needs real cores and a real database: run with -p target=postgres on a multi-core machine.
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class HotAccountCreditBenchmark {
+
+    private static final int PAYERS = 1000;
+    private static final String MERCHANT = "bench-merchant";
+
+    @Param({"0", "4", "16"})
+    public int shards;
+
+    @Param({"h2"})
+    public String target;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private LedgerService ledgerService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE);
+        if ("h2".equals(target)) {
+            builder.profiles("test");
+        }
+        // A command-line argument: properties set on the builder are defaults, below application.properties
+        context = builder.run("--spring.jpa.show-sql=false");
+        transactionService = context.getBean(TransactionService.class);
+        ledgerService = context.getBean(LedgerService.class);
+
+        List<User> users = new ArrayList<>(PAYERS + 1);
+        for (int i = 0; i < PAYERS; i++) {
+            users.add(new User("bench-payer-" + i, "Payer " + i, "bench-payer-" + i + "@example.com", 1_000_000_000L));
+        }
+        users.add(new User(MERCHANT, "Merchant", "bench-merchant@example.com", 1_000_000L));
+        context.getBean(UserRepository.class).saveAll(users);
+        context.getBean(UserService.class).updateBalanceShards(MERCHANT, shards);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Group("hotAccount")
+    @GroupThreads(6)
+    public Long credit() {
+        int payer = ThreadLocalRandom.current().nextInt(PAYERS);
+        return transactionService.createTransaction("bench-payer-" + payer, MERCHANT, 100).getId();
+    }
+
+    @Benchmark
+    @Group("hotAccount")
+    @GroupThreads(1)
+    public Long payout() {
+        return transactionService.createTransaction(MERCHANT, "bench-payer-0", 1).getId();
+    }
+
+    @Benchmark
+    @Group("hotAccount")
+    @GroupThreads(1)
+    public int compact() {
+        int compacted = 0;
+        for (int shard = 0; shard <= shards; shard++) {
+            compacted += ledgerService.compact(MERCHANT, shard, 10_000);
+        }
+        return compacted;
+    }
+}
@@ -0,0 +1,86 @@
+package com.project.banking.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Response bodies as the controllers produce them: lists of Transaction (with nested users), of TransactionView
+// (parties by id and name, as GET /api/transactions returns them) and of User, with Spring Boot's ObjectMapper
+// as is or with the Blackbird module the application registers. Payload sizes are printed at setup.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonSerializationBenchmark {
+
+    @Param({"50", "500", "10000"})
+    public int size;
+
+    @Param({"default", "blackbird"})
+    public String mapper;
+
+    private ObjectMapper objectMapper;
+    private List<User> users;
+    private List<Transaction> transactions;
+    private List<TransactionView> views;
+
+    @Setup(Level.Trial)
+    public void setUp() throws JsonProcessingException {
+        // Configured like the Spring Boot ObjectMapper used by the controllers
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if ("blackbird".equals(mapper)) {
+            builder.modulesToInstall(new BlackbirdModule());
+        }
+        objectMapper = builder.build();
+
+        users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(new User("user-" + i, "User " + i, "user-" + i + "@example.com", 1_234_567L + i));
+        }
+        transactions = new ArrayList<>(size);
+        LocalDateTime timestamp = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < size; i++) {
+            Transaction transaction = new Transaction(users.get(i), users.get((i + 1) % size), 100 + i);
+            transaction.setId((long) i + 1);
+            transaction.setTimestamp(timestamp.plusSeconds(i));
+            transactions.add(transaction);
+        }
+        views = new ArrayList<>(size);
+        for (Transaction transaction : transactions) {
+            views.add(new TransactionView(transaction.getId(), transaction.getSender().getId(),
+                    transaction.getSender().getName(), transaction.getRecipient().getId(),
+                    transaction.getRecipient().getName(), transaction.getAmount(), transaction.getTimestamp()));
+        }
+        System.out.printf("Payload bytes for %d rows: transactions %d, transaction views %d%n", size,
+                serializeTransactions().length, serializeTransactionViews().length);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactions() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(transactions);
+    }
+
+    @Benchmark
+    public byte[] serializeTransactionViews() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(views);
+    }
+
+    @Benchmark
+    public byte[] serializeUsers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+}
@@ -0,0 +1,127 @@
+package com.project.banking.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneyDeserializer;
+import com.project.banking.money.MoneySerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Long minor units vs double vs BigDecimal on the money hot path; run with -prof gc for allocation rates
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final int AMOUNTS = 1024;
+
+    public static class CentsAmount {
+        @JsonSerialize(using = MoneySerializer.class)
+        @JsonDeserialize(using = MoneyDeserializer.class)
+        public long amount;
+    }
+
+    public static class DoubleAmount {
+        public double amount;
+    }
+
+    public static class DecimalAmount {
+        public BigDecimal amount;
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private long[] cents;
+    private double[] doubles;
+    private BigDecimal[] decimals;
+
+    private CentsAmount centsAmount;
+    private DoubleAmount doubleAmount;
+    private DecimalAmount decimalAmount;
+    private String json;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        cents = new long[AMOUNTS];
+        doubles = new double[AMOUNTS];
+        decimals = new BigDecimal[AMOUNTS];
+        for (int i = 0; i < AMOUNTS; i++) {
+            cents[i] = 1 + random.nextInt(1_000_000);
+            doubles[i] = cents[i] / 100.0;
+            decimals[i] = BigDecimal.valueOf(cents[i], 2);
+        }
+
+        centsAmount = new CentsAmount();
+        centsAmount.amount = 1234567;
+        doubleAmount = new DoubleAmount();
+        doubleAmount.amount = 12345.67;
+        decimalAmount = new DecimalAmount();
+        decimalAmount.amount = new BigDecimal("12345.67");
+        json = "{\"amount\":12345.67}";
+    }
+
+    @Benchmark
+    public long sumCents() {
+        long total = 0;
+        for (long amount : cents) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public double sumDoubles() {
+        double total = 0;
+        for (double amount : doubles) {
+            total += amount;
+        }
+        return total;
+    }
+
+    @Benchmark
+    public BigDecimal sumDecimals() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (BigDecimal amount : decimals) {
+            total = total.add(amount);
+        }
+        return total;
+    }
+
+    @Benchmark
+    public byte[] serializeCents() throws Exception {
+        return objectMapper.writeValueAsBytes(centsAmount);
+    }
+
+    @Benchmark
+    public byte[] serializeDouble() throws Exception {
+        return objectMapper.writeValueAsBytes(doubleAmount);
+    }
+
+    @Benchmark
+    public byte[] serializeDecimal() throws Exception {
+        return objectMapper.writeValueAsBytes(decimalAmount);
+    }
+
+    @Benchmark
+    public CentsAmount deserializeCents() throws Exception {
+        return objectMapper.readValue(json, CentsAmount.class);
+    }
+
+    @Benchmark
+    public DoubleAmount deserializeDouble() throws Exception {
+        return objectMapper.readValue(json, DoubleAmount.class);
+    }
+
+    @Benchmark
+    public DecimalAmount deserializeDecimal() throws Exception {
+        return objectMapper.readValue(json, DecimalAmount.class);
+    }
+}
@@ -0,0 +1,200 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.model.User;
+import com.project.banking.reactive.ReactiveBankingApplication;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import jakarta.servlet.Filter;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletRequest;
+import jakarta.servlet.ServletResponse;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Load test for the REST layer: POST /api/transactions over HTTP against the app started with platform
+// request threads, then with virtual threads (Java 21+), then against the reactive application (WebFlux and
+// R2DBC). All three use the in-memory H2 database of the test profile as a local stand-in for PostgreSQL.
+// Reports latency percentiles and the peak number of requests in flight inside the server.
+//   mvn -Pbenchmark test-compile exec:exec@load-test -Dload.args="<concurrency> <requests>"
+public class RestLoadTest {
+
+    private static final int ACCOUNTS = 1000;
+
+    public static void main(String[] args) throws Exception {
+        int concurrency = args.length > 0 ? Integer.parseInt(args[0]) : 1000;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        List<String> results = new ArrayList<>();
+        results.add(run("platform", concurrency, requests));
+        if (Runtime.version().feature() >= 21) {
+            results.add(run("virtual", concurrency, requests));
+        } else {
+            results.add(String.format("%-9s skipped: virtual threads need Java 21+ (running %s)", "virtual", Runtime.version()));
+        }
+        results.add(run("reactive", concurrency, requests));
+
+        System.out.printf("%nconcurrency=%d requests=%d%n", concurrency, requests);
+        results.forEach(System.out::println);
+    }
+
+    private static String run(String mode, int concurrency, int requests) throws Exception {
+        boolean reactive = mode.equals("reactive");
+        InFlightFilter inFlight = new InFlightFilter();
+        SpringApplicationBuilder builder = reactive
+                ? new SpringApplicationBuilder(ReactiveBankingApplication.class).profiles(ReactiveBankingApplication.PROFILE, "test")
+                : new SpringApplicationBuilder(BankingApplication.class).profiles("test");
+        // Command-line arguments: properties set on the builder are defaults, below application.properties
+        ConfigurableApplicationContext context = builder
+                .initializers((ApplicationContextInitializer<ConfigurableApplicationContext>) ctx ->
+                        ctx.getBeanFactory().registerSingleton("inFlightFilter", inFlight))
+                .run("--server.port=0", "--spring.threads.virtual.enabled=" + mode.equals("virtual"),
+                        "--logging.level.root=WARN");
+        try {
+            if (reactive) {
+                seedAccountsReactive(context);
+            } else {
+                seedAccounts(context);
+            }
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+
+            fire(client, port, concurrency, Math.min(requests, 5_000), new Random(7));
+            inFlight.reset();
+            long startedAt = System.nanoTime();
+            Outcome outcome = fire(client, port, concurrency, requests, new Random(42));
+            double seconds = (System.nanoTime() - startedAt) / 1_000_000_000.0;
+
+            long[] latencies = outcome.latencies;
+            Arrays.sort(latencies);
+            return String.format("%-9s %8.0f req/s  p50 %7.2f ms  p99 %7.2f ms  max %7.2f ms  peak in flight %5d  errors %d",
+                    mode, requests / seconds,
+                    millis(percentile(latencies, 0.50)), millis(percentile(latencies, 0.99)),
+                    millis(latencies[latencies.length - 1]), inFlight.peak.get(), outcome.errors.get());
+        } finally {
+            context.close();
+        }
+    }
+
+    private static void seedAccounts(ConfigurableApplicationContext context) {
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        context.getBean(TransactionRepository.class).deleteAll();
+        userRepository.deleteAll();
+        List<User> users = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            users.add(new User("acc" + i, "Account " + i, "acc" + i + "@example.com", 1_000_000_000L));
+        }
+        userRepository.saveAll(users);
+    }
+
+    // The in-memory database outlives the servlet runs; accounts they created are kept with their balances
+    private static void seedAccountsReactive(ConfigurableApplicationContext context) {
+        DatabaseClient databaseClient = context.getBean(DatabaseClient.class);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            databaseClient.sql("INSERT INTO users (id, name, email, balance_cents, balance_shards) " +
+                            "SELECT :id, :name, :email, 1000000000, 0 WHERE NOT EXISTS (SELECT 1 FROM users WHERE id = :id)")
+                    .bind("id", "acc" + i)
+                    .bind("name", "Account " + i)
+                    .bind("email", "acc" + i + "@example.com")
+                    .then()
+                    .block();
+        }
+    }
+
+    // At most `concurrency` requests are outstanding; each completion frees a slot for the next one
+    private static Outcome fire(HttpClient client, int port, int concurrency, int requests, Random random)
+            throws InterruptedException {
+        URI uri = URI.create("http://localhost:" + port + "/api/transactions");
+        Semaphore slots = new Semaphore(concurrency);
+        CountDownLatch done = new CountDownLatch(requests);
+        Outcome outcome = new Outcome(requests);
+        for (int i = 0; i < requests; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            HttpRequest request = HttpRequest.newBuilder(uri)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(
+                            "{\"senderId\":\"acc" + from + "\",\"recipientId\":\"acc" + to + "\",\"amount\":1.00}"))
+                    .build();
+            int index = i;
+            slots.acquire();
+            long sentAt = System.nanoTime();
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                outcome.latencies[index] = System.nanoTime() - sentAt;
+                if (error != null || response.statusCode() >= 300) {
+                    outcome.errors.incrementAndGet();
+                }
+                slots.release();
+                done.countDown();
+            });
+        }
+        done.await();
+        return outcome;
+    }
+
+    private static long percentile(long[] sorted, double p) {
+        return sorted[Math.min(sorted.length - 1, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Outcome {
+        private final long[] latencies;
+        private final AtomicInteger errors = new AtomicInteger();
+
+        private Outcome(int requests) {
+            this.latencies = new long[requests];
+        }
+    }
+
+    // Counts requests currently inside the server: in the servlet container each one holds a request thread,
+    // in WebFlux none does while it waits for the database
+    public static final class InFlightFilter implements Filter, WebFilter {
+        private final AtomicInteger current = new AtomicInteger();
+        private final AtomicInteger peak = new AtomicInteger();
+
+        @Override
+        public void doFilter(ServletRequest request, ServletResponse response, FilterChain chain)
+                throws IOException, ServletException {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            try {
+                chain.doFilter(request, response);
+            } finally {
+                current.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+            peak.accumulateAndGet(current.incrementAndGet(), Math::max);
+            return chain.filter(exchange).doFinally(signal -> current.decrementAndGet());
+        }
+
+        void reset() {
+            peak.set(0);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// History lookups over a large transactions table spread evenly across the last 24 months: the newest page
+// (unbounded and limited to the last 30 days) for one account and across all accounts.
+// Partition pruning needs target=postgres, on a fresh docker-compose database so the past months get their own
+// partitions, e.g. -p target=postgres -p rows=10000000. Rows are seeded once per rows value and kept.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class TransactionHistoryBenchmark {
+
+    private static final int ACCOUNTS = 10_000;
+    private static final int MONTHS = 24;
+    private static final int PAGE_SIZE = 50;
+
+    @Param({"h2"})
+    public String target;
+
+    @Param({"100000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private String prefix;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE);
+        if ("h2".equals(target)) {
+            builder.profiles("test");
+        }
+        // Command-line arguments: properties set on the builder are defaults, below application.properties.
+        // Partitioning is off by default; the PostgreSQL run measures partition pruning.
+        context = builder.run("--spring.jpa.show-sql=false",
+                "--banking.transactions.partitioning.enabled=" + "postgres".equals(target));
+        transactionService = context.getBean(TransactionService.class);
+        prefix = "hist" + rows + "-";
+
+        JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+        if (jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users WHERE id = ?", Long.class, prefix + 0) == 0) {
+            seed(jdbcTemplate);
+        }
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        boolean postgres = "postgres".equals(target);
+        if (postgres) {
+            createPastPartitions(jdbcTemplate);
+        }
+        String series = postgres ? "generate_series(0, %d) AS s(x)" : "SYSTEM_RANGE(0, %d) AS s(x)";
+        long spanSeconds = TimeUnit.DAYS.toSeconds(30L * MONTHS);
+        String timestamp = postgres
+                ? "LOCALTIMESTAMP - make_interval(secs => x % " + spanSeconds + ")"
+                : "DATEADD(SECOND, -(x % " + spanSeconds + "), LOCALTIMESTAMP)";
+
+        jdbcTemplate.update("INSERT INTO users (id, name, email, balance_cents, balance_shards) " +
+                "SELECT '" + prefix + "' || x, 'History ' || x, '" + prefix + "' || x || '@example.com', 0, 0 " +
+                "FROM " + String.format(series, ACCOUNTS - 1));
+        jdbcTemplate.update("INSERT INTO transactions (id, sender_id, recipient_id, amount_cents, timestamp) " +
+                "SELECT nextval('transactions_seq'), '" + prefix + "' || (x % " + ACCOUNTS + "), " +
+                "'" + prefix + "' || ((x + 1) % " + ACCOUNTS + "), 100, " + timestamp + " " +
+                "FROM " + String.format(series, rows - 1));
+        if (postgres) {
+            jdbcTemplate.execute("ANALYZE transactions");
+        }
+    }
+
+    // The application only creates partitions from the current month on; on a database that already had
+    // transactions the past is one legacy partition and these fail
+    private static void createPastPartitions(JdbcTemplate jdbcTemplate) {
+        DateTimeFormatter name = DateTimeFormatter.ofPattern("'transactions_p'yyyy_MM");
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        for (int i = 1; i <= MONTHS + 1; i++) {
+            LocalDate month = currentMonth.minusMonths(i);
+            try {
+                jdbcTemplate.execute(String.format(
+                        "CREATE TABLE IF NOT EXISTS %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                        month.format(name), month.atStartOfDay(), month.plusMonths(1).atStartOfDay()));
+            } catch (DataAccessException e) {
+                return;
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public TransactionPage<TransactionSummary> userHistory() {
+        return transactionService.getTransactionPageByUserId(randomAccount(), null, PAGE_SIZE, null, null);
+    }
+
+    @Benchmark
+    public TransactionPage<TransactionSummary> userHistoryLast30Days() {
+        return transactionService.getTransactionPageByUserId(randomAccount(), null, PAGE_SIZE,
+                LocalDateTime.now().minusDays(30), null);
+    }
+
+    @Benchmark
+    public TransactionPage<TransactionView> allHistoryLast30Days() {
+        return transactionService.getTransactionPage(null, PAGE_SIZE, LocalDateTime.now().minusDays(30), null);
+    }
+
+    private String randomAccount() {
+        return prefix + ThreadLocalRandom.current().nextInt(ACCOUNTS);
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+// Inserts/sec through TransactionRepository.save. allocationSize=1 with batchSize=1 reproduces the old
+// IDENTITY round-trip pattern (one id fetch and one unbatched INSERT per row). Runs on the test profile's
+// H2 by default; pass -jvmArgsAppend -Dspring.datasource.url=... (plus driver/dialect) to target Postgres.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(TransactionInsertBenchmark.ROWS)
+public class TransactionInsertBenchmark {
+
+    static final int ROWS = 1000;
+
+    @Param({"1", "50", "500"})
+    public int allocationSize;
+
+    @Param({"1", "50"})
+    public int batchSize;
+
+    private ConfigurableApplicationContext context;
+    private TransactionRepository transactionRepository;
+    private TransactionTemplate transactionTemplate;
+    private User sender;
+    private User recipient;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Command-line arguments: properties set on the builder are defaults, below application.properties
+        context = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run("--banking.transaction-id.allocation-size=" + allocationSize,
+                        "--spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize);
+        transactionRepository = context.getBean(TransactionRepository.class);
+        transactionTemplate = context.getBean(TransactionTemplate.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        sender = userRepository.save(new User("sender", "Sender", "sender@example.com", 0));
+        recipient = userRepository.save(new User("recipient", "Recipient", "recipient@example.com", 0));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int insertTransactions() {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int i = 0; i < ROWS; i++) {
+                transactionRepository.save(new Transaction(sender, recipient, 100));
+            }
+        });
+        return ROWS;
+    }
+}
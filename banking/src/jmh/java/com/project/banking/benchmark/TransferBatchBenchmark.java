@@ -0,0 +1,79 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import com.project.banking.service.TransactionService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// 1000 transfers posted one createTransaction call at a time vs one createTransactions batch
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(TransferBatchBenchmark.TRANSFERS)
+public class TransferBatchBenchmark {
+
+    static final int TRANSFERS = 1000;
+    private static final int ACCOUNTS = 200;
+
+    private ConfigurableApplicationContext context;
+    private TransactionService transactionService;
+    private List<TransactionRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("test")
+                .run();
+        transactionService = context.getBean(TransactionService.class);
+
+        UserRepository userRepository = context.getBean(UserRepository.class);
+        context.getBean(TransactionRepository.class).deleteAll();
+        userRepository.deleteAll();
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < ACCOUNTS; i++) {
+            users.add(new User("acc" + i, "Account " + i, "acc" + i + "@example.com", 1_000_000_000L));
+        }
+        userRepository.saveAll(users);
+
+        Random random = new Random(42);
+        requests = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            int from = random.nextInt(ACCOUNTS);
+            int to = (from + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS;
+            requests.add(new TransactionRequest("acc" + from, "acc" + to, 1 + random.nextInt(10_000)));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public int singleTransfers() {
+        for (TransactionRequest request : requests) {
+            transactionService.createTransaction(request.getSenderId(), request.getRecipientId(), request.getAmount());
+        }
+        return requests.size();
+    }
+
+    @Benchmark
+    public int batchTransfer() {
+        return transactionService.createTransactions(requests).getApplied();
+    }
+}
@@ -0,0 +1,99 @@
+package com.project.banking.benchmark;
+
+import com.project.banking.BankingApplication;
+import com.project.banking.id.UuidV7;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+// Inserts/sec into a users-shaped table already holding `users` rows, with random (v4) vs time-ordered (v7) ids,
+// and the primary key index size at the end of the trial. Works on a scratch table so runs do not mix.
+// The interesting sizes need target=postgres, e.g. -p target=postgres -p users=50000000 (the prefill alone
+// takes a while), where the index size is printed from pg_relation_size.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@OperationsPerInvocation(UserIdBenchmark.ROWS)
+public class UserIdBenchmark {
+
+    static final int ROWS = 1000;
+    private static final int PREFILL_BATCH = 10_000;
+
+    @Param({"h2"})
+    public String target;
+
+    @Param({"random", "v7"})
+    public String ids;
+
+    @Param({"100000"})
+    public int users;
+
+    private ConfigurableApplicationContext context;
+    private JdbcTemplate jdbcTemplate;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplicationBuilder builder = new SpringApplicationBuilder(BankingApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties("spring.jpa.show-sql=false");
+        if ("h2".equals(target)) {
+            builder.profiles("test");
+        }
+        context = builder.run();
+        jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS users_id_bench");
+        jdbcTemplate.execute("CREATE TABLE users_id_bench (id VARCHAR(255) NOT NULL, name VARCHAR(255) NOT NULL, " +
+                "email VARCHAR(255) NOT NULL, balance_cents BIGINT NOT NULL, " +
+                "CONSTRAINT pk_users_id_bench PRIMARY KEY (id), CONSTRAINT uk_users_id_bench_email UNIQUE (email))");
+        for (int filled = 0; filled < users; filled += PREFILL_BATCH) {
+            insert(Math.min(PREFILL_BATCH, users - filled));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        if ("postgres".equals(target)) {
+            jdbcTemplate.execute("VACUUM ANALYZE users_id_bench");
+            Long bytes = jdbcTemplate.queryForObject("SELECT pg_relation_size('pk_users_id_bench')", Long.class);
+            System.out.printf("%n%s ids: primary key index %d MB for %d rows%n", ids, bytes >> 20,
+                    jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users_id_bench", Long.class));
+        }
+        jdbcTemplate.execute("DROP TABLE users_id_bench");
+        context.close();
+    }
+
+    @Benchmark
+    public int insertUsers() {
+        insert(ROWS);
+        return ROWS;
+    }
+
+    private void insert(int count) {
+        List<String> batch = new ArrayList<>(count);
+        if ("v7".equals(ids)) {
+            UuidV7.next(count).forEach(uuid -> batch.add(uuid.toString()));
+        } else {
+            for (int i = 0; i < count; i++) {
+                batch.add(UUID.randomUUID().toString());
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO users_id_bench (id, name, email, balance_cents) VALUES (?, ?, ?, 0)",
+                batch, count, (ps, id) -> {
+                    ps.setString(1, id);
+                    ps.setString(2, "Bench");
+                    // Unrelated to the id, like real emails, so the email index costs the same in both modes
+                    ps.setString(3, UUID.randomUUID() + "@example.com");
+                });
+    }
+}
@@ -0,0 +1,94 @@
+package com.project.banking.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import javax.cache.Caching;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    
+    public static final String USERS = "users";
+    public static final String USER_EXISTS = "userExists";
+    
+    // Hibernate second-level cache region of UserProfile
+    public static final String USER_PROFILES = "userProfiles";
+    // Query cache regions: shard counts looked up for every credit, and per-user stats totals
+    public static final String USER_SHARD_COUNTS = "userShardCounts";
+    public static final String USER_STATS = "userStats";
+    
+    // Caches are declared up front so their hit/miss/eviction metrics are bound at startup.
+    // The transaction-aware proxy defers puts and evictions until the surrounding transaction commits, so a
+    // rolled-back write never evicts. A reader's deferred put can still land after a writer's eviction with the
+    // value read before it; for users, VersionedCache drops such puts.
+    @Bean
+    public CacheManager cacheManager(@Value("${banking.cache.users.spec}") String spec) {
+        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager() {
+            @Override
+            protected Cache adaptCaffeineCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache) {
+                return USERS.equals(name) ? new VersionedCache(name, cache, isAllowNullValues())
+                        : super.adaptCaffeineCache(name, cache);
+            }
+        };
+        caffeineCacheManager.setCacheSpecification(spec);
+        caffeineCacheManager.setCacheNames(List.of(USERS, USER_EXISTS));
+        caffeineCacheManager.setAllowNullValues(false);
+        return new TransactionAwareCacheManagerProxy(caffeineCacheManager);
+    }
+    
+    // Regions of the Hibernate second-level cache, all created here (missing_cache_strategy=fail). JCache shares
+    // managers by URI, so each application context gets its own. Only queries over rarely written data use the
+    // query cache (history pages do not: every transfer writes transactions). Hibernate drops cached results when
+    // it writes a table they read; expiry only bounds how long writes it does not see (other instances, the
+    // reactive application) stay hidden.
+    @Bean(destroyMethod = "close")
+    public javax.cache.CacheManager hibernateCacheManager(
+            @Value("${banking.cache.hibernate.user-profiles.max-size:100000}") long userProfilesMaxSize,
+            @Value("${banking.cache.hibernate.query-results.max-size:100000}") long queryResultsMaxSize,
+            @Value("${banking.cache.hibernate.query-results.expire-after-write-ms:5000}") long queryResultsExpiryMs) {
+        javax.cache.CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager(URI.create("banking:hibernate:" + UUID.randomUUID()), getClass().getClassLoader());
+        cacheManager.createCache(USER_PROFILES, region(userProfilesMaxSize, 0));
+        cacheManager.createCache(USER_SHARD_COUNTS, region(queryResultsMaxSize, queryResultsExpiryMs));
+        cacheManager.createCache(USER_STATS, region(queryResultsMaxSize, queryResultsExpiryMs));
+        // Created by Hibernate with the query cache on, though no query is cached in the default region
+        cacheManager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, region(1, 0));
+        // One entry per table; must outlive every cached query result, so it is neither bounded nor expired
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, region(0, 0));
+        return cacheManager;
+    }
+    
+    @Bean
+    public HibernatePropertiesCustomizer hibernateCacheCustomizer(javax.cache.CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+    
+    // Entries are Hibernate's own cache entries, kept by reference rather than copied on every get and put
+    private static CaffeineConfiguration<Object, Object> region(long maxSize, long expireAfterWriteMs) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        if (maxSize > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxSize));
+        }
+        if (expireAfterWriteMs > 0) {
+            configuration.setExpireAfterWrite(OptionalLong.of(TimeUnit.MILLISECONDS.toNanos(expireAfterWriteMs)));
+        }
+        return configuration;
+    }
+}
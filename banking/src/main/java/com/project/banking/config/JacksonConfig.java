@@ -0,0 +1,56 @@
+package com.project.banking.config;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.project.banking.dto.TransactionDirection;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.dto.UserView;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Configuration
+public class JacksonConfig {
+    
+    // Registered with Spring Boot's ObjectMapper: bean properties are read through generated lambdas
+    // (LambdaMetafactory) instead of reflective calls
+    @Bean
+    public BlackbirdModule blackbirdModule() {
+        return new BlackbirdModule();
+    }
+    
+    // Writes one sample of each response body before the web server starts, so the first requests do not pay for
+    // building serializers and Blackbird's accessors. A type that cannot be serialized fails the startup.
+    @Bean
+    public SmartInitializingSingleton jacksonWarmUp(ObjectMapper objectMapper) {
+        return () -> {
+            LocalDateTime now = LocalDateTime.now();
+            User sender = new User("warm-up-1", "Warm-up", "warm-up-1@example.com", 100);
+            User recipient = new User("warm-up-2", "Warm-up", "warm-up-2@example.com", 0);
+            Transaction transaction = new Transaction(sender, recipient, 100);
+            transaction.setId(1L);
+            List<Object> samples = List.of(
+                    new TransactionPage<>(List.of(new TransactionView(1L, sender.getId(), sender.getName(),
+                            recipient.getId(), recipient.getName(), 100, now)), null),
+                    new TransactionPage<>(List.of(new TransactionSummary(1L, recipient.getId(), 100,
+                            TransactionDirection.SENT, now)), null),
+                    transaction,
+                    UserView.of(sender),
+                    List.of(sender, recipient));
+            for (Object sample : samples) {
+                try {
+                    objectMapper.writeValueAsBytes(sample);
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Could not serialize " + sample.getClass().getSimpleName(), e);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.banking.config;
+
+import com.project.banking.service.LoggingOutboxSink;
+import com.project.banking.service.OutboxSink;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class OutboxConfig {
+    
+    // Any OutboxSink bean of the application (e.g. a Kafka producer) replaces the logging sink
+    @Bean
+    @ConditionalOnMissingBean(OutboxSink.class)
+    public OutboxSink outboxSink() {
+        return new LoggingOutboxSink();
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.banking.config;
+
+import org.flywaydb.core.api.Location;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+// Monthly partitioning of transactions is PostgreSQL only and off by default. Switching it on adds the
+// migration that converts the table (R__partition_transactions.sql) and starts TransactionPartitionManager.
+@Configuration
+@ConditionalOnProperty(name = "banking.transactions.partitioning.enabled", havingValue = "true")
+public class PartitioningConfig {
+    
+    private static final String MIGRATIONS = "classpath:db/migration/postgresql-partitioning";
+    
+    @Bean
+    public FlywayConfigurationCustomizer partitioningMigrations() {
+        return configuration -> {
+            List<Location> locations = new ArrayList<>(Arrays.asList(configuration.getLocations()));
+            locations.add(new Location(MIGRATIONS));
+            configuration.locations(locations.toArray(Location[]::new));
+        };
+    }
+}
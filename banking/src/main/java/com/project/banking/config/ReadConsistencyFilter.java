@@ -0,0 +1,26 @@
+package com.project.banking.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import java.io.IOException;
+
+// "Read-Your-Writes: true" sends every read of the request to the primary; clients set it on the requests
+// that follow their own write, since replicas may lag behind it
+public class ReadConsistencyFilter extends OncePerRequestFilter {
+    
+    public static final String HEADER = "Read-Your-Writes";
+    
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        ReadRouting.begin(Boolean.parseBoolean(request.getHeader(HEADER)));
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRouting.end();
+        }
+    }
+}
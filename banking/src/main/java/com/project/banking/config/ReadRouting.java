@@ -0,0 +1,61 @@
+package com.project.banking.config;
+
+import java.util.function.Supplier;
+
+// Per-request read routing state, set up by ReadConsistencyFilter. Outside a request (scheduled jobs, the async
+// transfer writer) there is no state and read-only transactions always go to a replica.
+public final class ReadRouting {
+    
+    private static final ThreadLocal<State> CURRENT = new ThreadLocal<>();
+    
+    private ReadRouting() {}
+    
+    // readYourWrites: every read of the request goes to the primary, e.g. right after the client's own write
+    public static void begin(boolean readYourWrites) {
+        State state = new State();
+        state.primaryRequired = readYourWrites;
+        CURRENT.set(state);
+    }
+    
+    public static void end() {
+        CURRENT.remove();
+    }
+    
+    // Runs a read on the primary whatever the request's routing, for reads whose result outlives the request:
+    // a cached value is served to later Read-Your-Writes requests too, so it must not come from a lagging
+    // replica. Only applies to transactions that have not fetched their connection yet.
+    public static <T> T fromPrimary(Supplier<T> read) {
+        State outer = CURRENT.get();
+        State state = new State();
+        state.primaryRequired = true;
+        CURRENT.set(state);
+        try {
+            return read.get();
+        } finally {
+            if (outer == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(outer);
+            }
+        }
+    }
+    
+    // Called when the request opens a read-write transaction: from then on its reads must not go to a replica
+    // that may not have the write yet
+    static void wrote() {
+        State state = CURRENT.get();
+        if (state != null) {
+            state.primaryRequired = true;
+        }
+    }
+    
+    static boolean primaryRequired() {
+        State state = CURRENT.get();
+        return state != null && state.primaryRequired;
+    }
+    
+    private static final class State {
+        
+        private boolean primaryRequired;
+    }
+}
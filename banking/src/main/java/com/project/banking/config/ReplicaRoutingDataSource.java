@@ -0,0 +1,78 @@
+package com.project.banking.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Source of read-only connections: round-robin over the replica pools that passed their last health check.
+// Falls back to the primary when the request needs read-your-writes or no replica is usable.
+public class ReplicaRoutingDataSource extends AbstractDataSource {
+    
+    private final HikariDataSource primary;
+    private final List<HikariDataSource> replicas;
+    private final AtomicInteger next = new AtomicInteger();
+    
+    // Replaced as a whole by health checks and failures, so readers never need a lock
+    private volatile List<HikariDataSource> healthy;
+    
+    public ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas) {
+        this.primary = primary;
+        this.replicas = List.copyOf(replicas);
+        this.healthy = this.replicas;
+    }
+    
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ReadRouting.primaryRequired()) {
+            return primary.getConnection();
+        }
+        List<HikariDataSource> candidates = healthy;
+        int start = Math.floorMod(next.getAndIncrement(), Math.max(candidates.size(), 1));
+        for (int i = 0; i < candidates.size(); i++) {
+            HikariDataSource replica = candidates.get((start + i) % candidates.size());
+            try {
+                return replica.getConnection();
+            } catch (SQLException e) {
+                // Taken out of rotation until a health check finds it working again
+                markUnhealthy(replica);
+            }
+        }
+        return primary.getConnection();
+    }
+    
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Replica connections use the configured credentials");
+    }
+    
+    @Scheduled(fixedDelayString = "${banking.datasource.replicas.health-check-interval-ms:5000}",
+               initialDelayString = "${banking.datasource.replicas.health-check-interval-ms:5000}")
+    public void checkHealth() {
+        List<HikariDataSource> passed = new ArrayList<>(replicas.size());
+        for (HikariDataSource replica : replicas) {
+            try (Connection connection = replica.getConnection()) {
+                if (connection.isValid(1)) {
+                    passed.add(replica);
+                }
+            } catch (SQLException e) {
+                // Left out of rotation
+            }
+        }
+        healthy = List.copyOf(passed);
+    }
+    
+    public List<HikariDataSource> getHealthyReplicas() {
+        return healthy;
+    }
+    
+    private synchronized void markUnhealthy(HikariDataSource replica) {
+        List<HikariDataSource> remaining = new ArrayList<>(healthy);
+        remaining.remove(replica);
+        healthy = List.copyOf(remaining);
+    }
+}
@@ -0,0 +1,18 @@
+package com.project.banking.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+
+// Spring Boot ignores spring.threads.virtual.enabled below Java 21, which would leave the application on
+// platform threads while configured, and sized, for virtual ones
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class ThreadingConfig {
+    
+    public ThreadingConfig() {
+        if (Runtime.version().feature() < 21) {
+            throw new IllegalStateException("spring.threads.virtual.enabled=true needs Java 21 or later (running "
+                    + Runtime.version() + "); build with -Pjava21 and run on a Java 21 JVM");
+        }
+    }
+}
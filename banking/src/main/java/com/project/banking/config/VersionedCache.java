@@ -0,0 +1,109 @@
+package com.project.banking.config;
+
+import org.springframework.cache.caffeine.CaffeineCache;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Drops a value that was read before an eviction of the same key. A plain @Cacheable looks the key up, loads and
+// then puts (after commit, under the transaction-aware proxy); a write that commits and evicts in between would
+// otherwise be overwritten by the value read before it. Each eviction bumps a version per key stripe, and a value
+// is not kept once the version has moved on since its miss. Keys sharing a stripe only cost each other a cache fill.
+// Still a CaffeineCache, so its metrics are bound like the others.
+final class VersionedCache extends CaffeineCache {
+    
+    private static final int STRIPES = 1024;
+    
+    private final AtomicLongArray versions = new AtomicLongArray(STRIPES);
+    // Only for callers that get and put separately. The last miss of the thread, replaced by its next miss, so a
+    // load that throws leaves behind a single entry rather than one per key it ever failed on.
+    private final ThreadLocal<Miss> lastMiss = new ThreadLocal<>();
+    
+    VersionedCache(String name, com.github.benmanes.caffeine.cache.Cache<Object, Object> cache,
+                   boolean allowNullValues) {
+        super(name, cache, allowNullValues);
+    }
+    
+    // @Cacheable(sync = true): the version is held by this call, so a load that throws leaves nothing behind.
+    // Caffeine stores the loaded value itself; if an eviction ran meanwhile, the value is evicted again here.
+    @Override
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        long readAt = version(key);
+        T value = super.get(key, valueLoader);
+        if (readAt != version(key)) {
+            super.evict(key);
+        }
+        return value;
+    }
+    
+    @Override
+    public ValueWrapper get(Object key) {
+        ValueWrapper value = super.get(key);
+        if (value == null) {
+            lastMiss.set(new Miss(key, version(key)));
+        } else {
+            lastMiss.remove();
+        }
+        return value;
+    }
+    
+    @Override
+    public void put(Object key, Object value) {
+        Miss miss = lastMiss.get();
+        if (miss == null || !miss.key().equals(key)) {
+            super.put(key, value);
+            return;
+        }
+        lastMiss.remove();
+        long readAt = miss.version();
+        if (readAt != version(key)) {
+            return;
+        }
+        super.put(key, value);
+        // An eviction between the check and the put
+        if (readAt != version(key)) {
+            super.evict(key);
+        }
+    }
+    
+    @Override
+    public void evict(Object key) {
+        versions.incrementAndGet(stripe(key));
+        super.evict(key);
+    }
+    
+    @Override
+    public boolean evictIfPresent(Object key) {
+        versions.incrementAndGet(stripe(key));
+        return super.evictIfPresent(key);
+    }
+    
+    @Override
+    public void clear() {
+        bumpAll();
+        super.clear();
+    }
+    
+    @Override
+    public boolean invalidate() {
+        bumpAll();
+        return super.invalidate();
+    }
+    
+    private void bumpAll() {
+        for (int i = 0; i < STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+    }
+    
+    private long version(Object key) {
+        return versions.get(stripe(key));
+    }
+    
+    private static int stripe(Object key) {
+        int hash = key.hashCode();
+        return (hash ^ (hash >>> 16)) & (STRIPES - 1);
+    }
+    
+    private record Miss(Object key, long version) {
+    }
+}
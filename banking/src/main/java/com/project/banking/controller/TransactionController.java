@@ -1,14 +1,28 @@
 package com.project.banking.controller;
 
 
+import com.project.banking.dto.AsyncTransferStatus;
+import com.project.banking.dto.BatchTransferResponse;
+import com.project.banking.dto.IdempotentTransferResult;
+import com.project.banking.dto.TransactionPage;
 import com.project.banking.dto.TransactionRequest;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
 import com.project.banking.model.Transaction;
+import com.project.banking.service.AsyncTransferService;
+import com.project.banking.service.IdempotencyService;
+import com.project.banking.service.TransactionExportService;
 import com.project.banking.service.TransactionService;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -17,20 +31,41 @@ import java.util.List;
 public class TransactionController {
     
     private final TransactionService transactionService;
+    private final TransactionExportService transactionExportService;
+    private final IdempotencyService idempotencyService;
+    private final AsyncTransferService asyncTransferService;
     
     @Autowired
-    public TransactionController(TransactionService transactionService) {
+    public TransactionController(TransactionService transactionService, TransactionExportService transactionExportService,
+                                 IdempotencyService idempotencyService, AsyncTransferService asyncTransferService) {
         this.transactionService = transactionService;
+        this.transactionExportService = transactionExportService;
+        this.idempotencyService = idempotencyService;
+        this.asyncTransferService = asyncTransferService;
     }
     
     @GetMapping
-    public ResponseEntity<List<Transaction>> getAllTransactions() {
-        List<Transaction> transactions = transactionService.getAllTransactions();
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<TransactionPage<TransactionView>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TransactionPage<TransactionView> page = transactionService.getTransactionPage(cursor, size, from, to);
+        return ResponseEntity.ok(page);
     }
     
     @PostMapping
-    public ResponseEntity<Transaction> createTransaction(@Valid @RequestBody TransactionRequest request) {
+    public ResponseEntity<Transaction> createTransaction(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // A retried request with the same key gets the original transaction back instead of a second debit,
+        // as 200 rather than 201 since nothing was created
+        if (idempotencyKey != null) {
+            IdempotentTransferResult result = idempotencyService.createTransaction(idempotencyKey, request);
+            return ResponseEntity.status(result.isReplayed() ? HttpStatus.OK : HttpStatus.CREATED)
+                    .header("Idempotent-Replayed", String.valueOf(result.isReplayed()))
+                    .body(result.getTransaction());
+        }
         Transaction transaction = transactionService.createTransaction(
                 request.getSenderId(),
                 request.getRecipientId(),
@@ -39,9 +74,51 @@ public class TransactionController {
         return ResponseEntity.status(HttpStatus.CREATED).body(transaction);
     }
     
+    // Accepted into the async queue and applied in a later group commit; poll the Location for the outcome
+    @PostMapping(params = "mode=async")
+    public ResponseEntity<AsyncTransferStatus> createTransactionAsync(
+            @Valid @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        if (idempotencyKey != null) {
+            throw new IllegalArgumentException("Idempotency-Key is not supported with mode=async");
+        }
+        AsyncTransferStatus status = asyncTransferService.enqueue(request);
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/transactions/async/" + status.getTrackingId()))
+                .body(status);
+    }
+    
+    @GetMapping("/async/{trackingId}")
+    public ResponseEntity<AsyncTransferStatus> getAsyncTransferStatus(@PathVariable String trackingId) {
+        return ResponseEntity.ok(asyncTransferService.getStatus(trackingId));
+    }
+    
+    // Items are validated individually and reported per index instead of failing the whole batch
+    @PostMapping("/batch")
+    public ResponseEntity<BatchTransferResponse> createTransactions(@RequestBody List<TransactionRequest> requests) {
+        BatchTransferResponse response = transactionService.createTransactions(requests);
+        return ResponseEntity.ok(response);
+    }
+    
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<Transaction>> getTransactionsByUserId(@PathVariable String userId) {
-        List<Transaction> transactions = transactionService.getTransactionsByUserId(userId);
-        return ResponseEntity.ok(transactions);
+    public ResponseEntity<TransactionPage<TransactionSummary>> getTransactionsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        TransactionPage<TransactionSummary> page = transactionService.getTransactionPageByUserId(userId, cursor, size, from, to);
+        return ResponseEntity.ok(page);
+    }
+    
+    // Written on the request thread so long exports are not cut off by the async request timeout
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public void exportTransactions(
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        response.setHeader("Content-Disposition", "attachment; filename=\"transactions.ndjson\"");
+        transactionExportService.exportNdjson(from, to, response.getOutputStream());
     }
 }
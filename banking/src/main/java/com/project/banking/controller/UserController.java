@@ -1,13 +1,24 @@
 package com.project.banking.controller;
 
 
+import com.project.banking.dto.UserTransactionStats;
+import com.project.banking.dto.UserView;
 import com.project.banking.model.User;
+import com.project.banking.money.Money;
+import com.project.banking.service.AccountEventBus;
+import com.project.banking.service.UserImportService;
 import com.project.banking.service.UserService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -16,10 +27,15 @@ import java.util.List;
 public class UserController {
     
     private final UserService userService;
+    private final AccountEventBus accountEventBus;
+    private final UserImportService userImportService;
     
     @Autowired
-    public UserController(UserService userService) {
+    public UserController(UserService userService, AccountEventBus accountEventBus,
+                          UserImportService userImportService) {
         this.userService = userService;
+        this.accountEventBus = accountEventBus;
+        this.userImportService = userImportService;
     }
     
     @GetMapping
@@ -29,20 +45,50 @@ public class UserController {
     }
     
     @GetMapping("/{id}")
-    public ResponseEntity<User> getUserById(@PathVariable String id) {
-        User user = userService.getUserById(id);
+    public ResponseEntity<UserView> getUserById(@PathVariable String id) {
+        UserView user = userService.getUserById(id);
         return ResponseEntity.ok(user);
     }
     
+    // Totals sent and received, counts and last activity, without reading the history
+    @GetMapping("/{id}/stats")
+    public ResponseEntity<UserTransactionStats> getTransactionStats(@PathVariable String id) {
+        return ResponseEntity.ok(userService.getTransactionStats(id));
+    }
+    
     @PostMapping
     public ResponseEntity<User> createUser(@Valid @RequestBody User user) {
         User createdUser = userService.createUser(user);
         return ResponseEntity.status(HttpStatus.CREATED).body(createdUser);
     }
     
+    // One user per NDJSON line in, one result per line out, streamed in both directions. Read and written on the
+    // request thread so long imports are not cut off by the async request timeout.
+    @PostMapping(value = "/bulk", consumes = "application/x-ndjson", produces = "application/x-ndjson")
+    public void importUsers(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setContentType("application/x-ndjson");
+        userImportService.importNdjson(request.getInputStream(), response.getOutputStream());
+    }
+    
     @PutMapping("/{id}/balance")
-    public ResponseEntity<String> updateBalance(@PathVariable String id, @RequestParam double balance) {
-        userService.updateBalance(id, balance);
+    public ResponseEntity<String> updateBalance(@PathVariable String id, @RequestParam String balance) {
+        userService.updateBalance(id, Money.parse(balance));
         return ResponseEntity.ok("Balance updated successfully");
     }
+    
+    // Opt-in hot-account mode for accounts that receive many concurrent credits; 0 turns it off
+    @PutMapping("/{id}/balance-shards")
+    public ResponseEntity<String> updateBalanceShards(@PathVariable String id, @RequestParam int shards) {
+        userService.updateBalanceShards(id, shards);
+        return ResponseEntity.ok("Balance shards updated successfully");
+    }
+    
+    // Pushes `transaction` and `adjustment` events for this account after they commit; replaces polling
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(@PathVariable String id) {
+        if (!userService.userExists(id)) {
+            throw new EntityNotFoundException("User not found with id: " + id);
+        }
+        return accountEventBus.subscribe(id);
+    }
 }
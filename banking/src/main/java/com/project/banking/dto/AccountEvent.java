@@ -0,0 +1,57 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneySerializer;
+
+// Pushed to /api/users/{id}/events after a change to the account commits
+public class AccountEvent {
+    
+    public enum Type {
+        TRANSACTION,
+        ADJUSTMENT
+    }
+    
+    private final Type type;
+    
+    private final String userId;
+    
+    // Balance right after this change as seen by the transaction that made it
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long balance;
+    
+    // The transfer from this user's side; null for a balance adjustment
+    private final TransactionSummary transaction;
+    
+    // Constructors
+    public AccountEvent(Type type, String userId, long balance, TransactionSummary transaction) {
+        this.type = type;
+        this.userId = userId;
+        this.balance = balance;
+        this.transaction = transaction;
+    }
+    
+    public static AccountEvent transaction(String userId, long balance, TransactionSummary transaction) {
+        return new AccountEvent(Type.TRANSACTION, userId, balance, transaction);
+    }
+    
+    public static AccountEvent adjustment(String userId, long balance) {
+        return new AccountEvent(Type.ADJUSTMENT, userId, balance, null);
+    }
+    
+    // Getters
+    public Type getType() {
+        return type;
+    }
+    
+    public String getUserId() {
+        return userId;
+    }
+    
+    public long getBalance() {
+        return balance;
+    }
+    
+    public TransactionSummary getTransaction() {
+        return transaction;
+    }
+}
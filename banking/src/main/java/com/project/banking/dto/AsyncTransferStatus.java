@@ -0,0 +1,76 @@
+package com.project.banking.dto;
+
+public class AsyncTransferStatus {
+    
+    public enum Status {
+        QUEUED,
+        APPLIED,
+        REJECTED,
+        FAILED
+    }
+    
+    private String trackingId;
+    
+    private Status status;
+    
+    private Long transactionId;
+    
+    private String error;
+    
+    // Constructors
+    public AsyncTransferStatus() {}
+    
+    public AsyncTransferStatus(String trackingId, Status status, Long transactionId, String error) {
+        this.trackingId = trackingId;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+    }
+    
+    public static AsyncTransferStatus queued(String trackingId) {
+        return new AsyncTransferStatus(trackingId, Status.QUEUED, null, null);
+    }
+    
+    public static AsyncTransferStatus of(String trackingId, BatchTransferResult result) {
+        return result.getStatus() == BatchTransferResult.Status.APPLIED
+                ? new AsyncTransferStatus(trackingId, Status.APPLIED, result.getTransactionId(), null)
+                : new AsyncTransferStatus(trackingId, Status.REJECTED, null, result.getError());
+    }
+    
+    public static AsyncTransferStatus failed(String trackingId, String error) {
+        return new AsyncTransferStatus(trackingId, Status.FAILED, null, error);
+    }
+    
+    // Getters and Setters
+    public String getTrackingId() {
+        return trackingId;
+    }
+    
+    public void setTrackingId(String trackingId) {
+        this.trackingId = trackingId;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
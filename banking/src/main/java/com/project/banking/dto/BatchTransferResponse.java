@@ -0,0 +1,51 @@
+package com.project.banking.dto;
+
+import java.util.List;
+
+public class BatchTransferResponse {
+    
+    private int applied;
+    
+    private int rejected;
+    
+    private List<BatchTransferResult> results;
+    
+    // Constructors
+    public BatchTransferResponse() {}
+    
+    public BatchTransferResponse(List<BatchTransferResult> results) {
+        this.results = results;
+        for (BatchTransferResult result : results) {
+            if (result.getStatus() == BatchTransferResult.Status.APPLIED) {
+                applied++;
+            } else {
+                rejected++;
+            }
+        }
+    }
+    
+    // Getters and Setters
+    public int getApplied() {
+        return applied;
+    }
+    
+    public void setApplied(int applied) {
+        this.applied = applied;
+    }
+    
+    public int getRejected() {
+        return rejected;
+    }
+    
+    public void setRejected(int rejected) {
+        this.rejected = rejected;
+    }
+    
+    public List<BatchTransferResult> getResults() {
+        return results;
+    }
+    
+    public void setResults(List<BatchTransferResult> results) {
+        this.results = results;
+    }
+}
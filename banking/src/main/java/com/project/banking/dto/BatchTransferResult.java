@@ -0,0 +1,68 @@
+package com.project.banking.dto;
+
+public class BatchTransferResult {
+    
+    public enum Status {
+        APPLIED,
+        REJECTED
+    }
+    
+    private int index;
+    
+    private Status status;
+    
+    private Long transactionId;
+    
+    private String error;
+    
+    // Constructors
+    public BatchTransferResult() {}
+    
+    public BatchTransferResult(int index, Status status, Long transactionId, String error) {
+        this.index = index;
+        this.status = status;
+        this.transactionId = transactionId;
+        this.error = error;
+    }
+    
+    public static BatchTransferResult applied(int index, Long transactionId) {
+        return new BatchTransferResult(index, Status.APPLIED, transactionId, null);
+    }
+    
+    public static BatchTransferResult rejected(int index, String error) {
+        return new BatchTransferResult(index, Status.REJECTED, null, error);
+    }
+    
+    // Getters and Setters
+    public int getIndex() {
+        return index;
+    }
+    
+    public void setIndex(int index) {
+        this.index = index;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
@@ -0,0 +1,26 @@
+package com.project.banking.dto;
+
+import com.project.banking.model.Transaction;
+
+public class IdempotentTransferResult {
+    
+    private final Transaction transaction;
+    
+    // True when the transaction was created by an earlier request with the same key
+    private final boolean replayed;
+    
+    // Constructors
+    public IdempotentTransferResult(Transaction transaction, boolean replayed) {
+        this.transaction = transaction;
+        this.replayed = replayed;
+    }
+    
+    // Getters
+    public Transaction getTransaction() {
+        return transaction;
+    }
+    
+    public boolean isReplayed() {
+        return replayed;
+    }
+}
@@ -0,0 +1,45 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.model.Transaction;
+import com.project.banking.money.MoneySerializer;
+import java.time.LocalDateTime;
+
+// Outbox payload of transaction.created: ids instead of nested users, so it stays small and stable
+public class TransactionCreatedEvent {
+    
+    private final Long id;
+    private final String senderId;
+    private final String recipientId;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long amount;
+    private final LocalDateTime timestamp;
+    
+    public TransactionCreatedEvent(Transaction transaction) {
+        this.id = transaction.getId();
+        this.senderId = transaction.getSender().getId();
+        this.recipientId = transaction.getRecipient().getId();
+        this.amount = transaction.getAmount();
+        this.timestamp = transaction.getTimestamp();
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getSenderId() {
+        return senderId;
+    }
+    
+    public String getRecipientId() {
+        return recipientId;
+    }
+    
+    public long getAmount() {
+        return amount;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
@@ -0,0 +1,6 @@
+package com.project.banking.dto;
+
+public enum TransactionDirection {
+    SENT,
+    RECEIVED
+}
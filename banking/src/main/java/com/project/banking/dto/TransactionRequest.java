@@ -1,5 +1,9 @@
 package com.project.banking.dto;
 
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneyDeserializer;
+import com.project.banking.money.MoneySerializer;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 
@@ -11,13 +15,16 @@ public class TransactionRequest {
     @NotBlank(message = "Recipient ID is required")
     private String recipientId;
     
+    // Minor units (cents); sent by clients as a decimal amount
     @Positive(message = "Amount must be greater than 0")
-    private double amount;
+    @JsonSerialize(using = MoneySerializer.class)
+    @JsonDeserialize(using = MoneyDeserializer.class)
+    private long amount;
     
     // Constructors
     public TransactionRequest() {}
     
-    public TransactionRequest(String senderId, String recipientId, double amount) {
+    public TransactionRequest(String senderId, String recipientId, long amount) {
         this.senderId = senderId;
         this.recipientId = recipientId;
         this.amount = amount;
@@ -40,11 +47,11 @@ public class TransactionRequest {
         this.recipientId = recipientId;
     }
     
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
     
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
 }
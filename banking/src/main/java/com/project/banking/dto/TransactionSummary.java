@@ -0,0 +1,50 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneySerializer;
+import java.time.LocalDateTime;
+
+// One row of a user's history, seen from that user's side of the transfer
+public class TransactionSummary {
+    
+    private final Long id;
+    private final String counterpartyId;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long amount;
+    private final TransactionDirection direction;
+    private final LocalDateTime timestamp;
+    
+    public TransactionSummary(Long id, String counterpartyId, long amount, TransactionDirection direction,
+                              LocalDateTime timestamp) {
+        this.id = id;
+        this.counterpartyId = counterpartyId;
+        this.amount = amount;
+        this.direction = direction;
+        this.timestamp = timestamp;
+    }
+    
+    // Used by the native history query, which selects the direction as a string literal
+    public TransactionSummary(Long id, String counterpartyId, long amount, String direction, LocalDateTime timestamp) {
+        this(id, counterpartyId, amount, TransactionDirection.valueOf(direction), timestamp);
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getCounterpartyId() {
+        return counterpartyId;
+    }
+    
+    public long getAmount() {
+        return amount;
+    }
+    
+    public TransactionDirection getDirection() {
+        return direction;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
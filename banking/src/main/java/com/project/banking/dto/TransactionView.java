@@ -0,0 +1,58 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneySerializer;
+import java.time.LocalDateTime;
+
+// One row of the transaction listing: both parties by id and name, read by a JPQL constructor expression.
+// Unlike Transaction, it carries no balances, so listing a page neither computes nor serializes them.
+public class TransactionView {
+    
+    private final Long id;
+    private final String senderId;
+    private final String senderName;
+    private final String recipientId;
+    private final String recipientName;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long amount;
+    private final LocalDateTime timestamp;
+    
+    public TransactionView(Long id, String senderId, String senderName, String recipientId, String recipientName,
+                           long amount, LocalDateTime timestamp) {
+        this.id = id;
+        this.senderId = senderId;
+        this.senderName = senderName;
+        this.recipientId = recipientId;
+        this.recipientName = recipientName;
+        this.amount = amount;
+        this.timestamp = timestamp;
+    }
+    
+    public Long getId() {
+        return id;
+    }
+    
+    public String getSenderId() {
+        return senderId;
+    }
+    
+    public String getSenderName() {
+        return senderName;
+    }
+    
+    public String getRecipientId() {
+        return recipientId;
+    }
+    
+    public String getRecipientName() {
+        return recipientName;
+    }
+    
+    public long getAmount() {
+        return amount;
+    }
+    
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+}
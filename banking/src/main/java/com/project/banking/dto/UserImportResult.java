@@ -0,0 +1,77 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// Outcome of one line of a bulk user import; line numbers start at 1
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class UserImportResult {
+    
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        INVALID
+    }
+    
+    private long line;
+    
+    private Status status;
+    
+    private String id;
+    
+    private String error;
+    
+    // Constructors
+    public UserImportResult() {}
+    
+    public UserImportResult(long line, Status status, String id, String error) {
+        this.line = line;
+        this.status = status;
+        this.id = id;
+        this.error = error;
+    }
+    
+    public static UserImportResult created(long line, String id) {
+        return new UserImportResult(line, Status.CREATED, id, null);
+    }
+    
+    public static UserImportResult duplicate(long line, String error) {
+        return new UserImportResult(line, Status.DUPLICATE, null, error);
+    }
+    
+    public static UserImportResult invalid(long line, String error) {
+        return new UserImportResult(line, Status.INVALID, null, error);
+    }
+    
+    // Getters and Setters
+    public long getLine() {
+        return line;
+    }
+    
+    public void setLine(long line) {
+        this.line = line;
+    }
+    
+    public Status getStatus() {
+        return status;
+    }
+    
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public void setId(String id) {
+        this.id = id;
+    }
+    
+    public String getError() {
+        return error;
+    }
+    
+    public void setError(String error) {
+        this.error = error;
+    }
+}
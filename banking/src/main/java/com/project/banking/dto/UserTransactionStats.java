@@ -0,0 +1,47 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneySerializer;
+import java.time.LocalDateTime;
+
+// Lifetime transfer totals of one user; balance adjustments are not transfers and are not counted
+public class UserTransactionStats {
+    
+    private final long sentCount;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long sentAmount;
+    private final long receivedCount;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long receivedAmount;
+    // Null when the user has never sent or received a transfer
+    private final LocalDateTime lastActivityAt;
+    
+    public UserTransactionStats(long sentCount, long sentAmount, long receivedCount, long receivedAmount,
+                                LocalDateTime lastActivityAt) {
+        this.sentCount = sentCount;
+        this.sentAmount = sentAmount;
+        this.receivedCount = receivedCount;
+        this.receivedAmount = receivedAmount;
+        this.lastActivityAt = lastActivityAt;
+    }
+    
+    public long getSentCount() {
+        return sentCount;
+    }
+    
+    public long getSentAmount() {
+        return sentAmount;
+    }
+    
+    public long getReceivedCount() {
+        return receivedCount;
+    }
+    
+    public long getReceivedAmount() {
+        return receivedAmount;
+    }
+    
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+}
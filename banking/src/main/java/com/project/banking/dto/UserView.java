@@ -0,0 +1,43 @@
+package com.project.banking.dto;
+
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.model.User;
+import com.project.banking.money.MoneySerializer;
+
+// A user as read at one point in time, with the same JSON shape as User. Immutable, so it is what the users cache
+// holds: a cached entity would be shared between requests and could be changed by any of them.
+public class UserView {
+    
+    private final String id;
+    private final String name;
+    private final String email;
+    @JsonSerialize(using = MoneySerializer.class)
+    private final long balance;
+    
+    public UserView(String id, String name, String email, long balance) {
+        this.id = id;
+        this.name = name;
+        this.email = email;
+        this.balance = balance;
+    }
+    
+    public static UserView of(User user) {
+        return new UserView(user.getId(), user.getName(), user.getEmail(), user.getBalance());
+    }
+    
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+    
+    public long getBalance() {
+        return balance;
+    }
+}
@@ -1,25 +1,62 @@
 package com.project.banking.exception;
 
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.HttpMessageNotReadableException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.server.ServerWebInputException;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import java.util.HashMap;
 import java.util.Map;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
     
+    // One counter per handled outcome (banking.api.errors{outcome=...})
+    private final Counter notFound;
+    private final Counter validationFailed;
+    private final Counter malformedBody;
+    private final Counter insufficientBalance;
+    private final Counter badRequest;
+    private final Counter conflict;
+    private final Counter unavailable;
+    private final Counter internalError;
+    
+    @Autowired
+    public GlobalExceptionHandler(MeterRegistry meterRegistry) {
+        this.notFound = errorCounter(meterRegistry, "not_found");
+        this.validationFailed = errorCounter(meterRegistry, "validation_failed");
+        this.malformedBody = errorCounter(meterRegistry, "malformed_body");
+        this.insufficientBalance = errorCounter(meterRegistry, "insufficient_balance");
+        this.badRequest = errorCounter(meterRegistry, "bad_request");
+        this.conflict = errorCounter(meterRegistry, "conflict");
+        this.unavailable = errorCounter(meterRegistry, "unavailable");
+        this.internalError = errorCounter(meterRegistry, "internal_error");
+    }
+    
+    private static Counter errorCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("banking.api.errors")
+                .description("Requests answered by GlobalExceptionHandler")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+    
     @ExceptionHandler(EntityNotFoundException.class)
     public ResponseEntity<String> handleNotFound(EntityNotFoundException ex) {
+        notFound.increment();
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(ex.getMessage());
     }
     
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, String>> handleValidation(MethodArgumentNotValidException ex) {
+        validationFailed.increment();
         Map<String, String> errors = new HashMap<>();
         ex.getBindingResult().getFieldErrors().forEach(err -> 
             errors.put(err.getField(), err.getDefaultMessage())
@@ -27,19 +64,57 @@ public class GlobalExceptionHandler {
         return ResponseEntity.badRequest().body(errors);
     }
     
+    @ExceptionHandler(HttpMessageNotReadableException.class)
+    public ResponseEntity<String> handleUnreadable(HttpMessageNotReadableException ex) {
+        malformedBody.increment();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Malformed request body: " + ex.getMostSpecificCause().getMessage());
+    }
+    
+    // The reactive application's (WebFlux) counterpart of an unreadable body or request parameter
+    @ExceptionHandler(ServerWebInputException.class)
+    public ResponseEntity<String> handleWebInput(ServerWebInputException ex) {
+        malformedBody.increment();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body("Malformed request: " + ex.getMostSpecificCause().getMessage());
+    }
+    
+    @ExceptionHandler(InsufficientBalanceException.class)
+    public ResponseEntity<String> handleInsufficientBalance(InsufficientBalanceException ex) {
+        insufficientBalance.increment();
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
+    }
+    
     @ExceptionHandler(IllegalArgumentException.class)
     public ResponseEntity<String> handleIllegalArgument(IllegalArgumentException ex) {
+        badRequest.increment();
         return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(ex.getMessage());
     }
     
     @ExceptionHandler(DataIntegrityViolationException.class)
     public ResponseEntity<String> handleDataIntegrityViolation(DataIntegrityViolationException ex) {
+        conflict.increment();
         return ResponseEntity.status(HttpStatus.CONFLICT)
                 .body("Data integrity violation: " + ex.getMostSpecificCause().getMessage());
     }
     
+    // No connection within the pool's connection-timeout: shed the request instead of queueing it further
+    @ExceptionHandler(CannotCreateTransactionException.class)
+    public ResponseEntity<String> handleNoConnection(CannotCreateTransactionException ex) {
+        unavailable.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .body("Database is busy, please retry: " + ex.getMostSpecificCause().getMessage());
+    }
+    
+    @ExceptionHandler(TransferQueueFullException.class)
+    public ResponseEntity<String> handleQueueFull(TransferQueueFullException ex) {
+        unavailable.increment();
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(ex.getMessage());
+    }
+    
     @ExceptionHandler(Exception.class)
     public ResponseEntity<String> handleGeneric(Exception ex) {
+        internalError.increment();
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                 .body("Something went wrong: " + ex.getMessage());
     }
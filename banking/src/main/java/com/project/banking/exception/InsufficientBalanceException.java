@@ -0,0 +1,9 @@
+package com.project.banking.exception;
+
+// Still a 400 like any other rejected transfer, but counted separately in the error metrics
+public class InsufficientBalanceException extends IllegalArgumentException {
+    
+    public InsufficientBalanceException(String message) {
+        super(message);
+    }
+}
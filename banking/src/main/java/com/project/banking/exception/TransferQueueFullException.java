@@ -0,0 +1,9 @@
+package com.project.banking.exception;
+
+// The async transfer queue is at capacity; answered with 503 so the client backs off and retries
+public class TransferQueueFullException extends RuntimeException {
+    
+    public TransferQueueFullException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,87 @@
+package com.project.banking.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.util.Objects;
+
+@Entity
+@Table(name = "balance_shards")
+@IdClass(BalanceShard.Key.class)
+public class BalanceShard {
+    
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    // 1..n; shard 0 is the user's main balance
+    @Id
+    @Column(nullable = false)
+    private int shard;
+    
+    // Credits compacted into this shard, in minor units (cents)
+    @Column(name = "balance_cents", nullable = false)
+    private long balance;
+    
+    // Constructors
+    public BalanceShard() {}
+    
+    public BalanceShard(User user, int shard) {
+        this.user = user;
+        this.shard = shard;
+    }
+    
+    // Getters and Setters
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public int getShard() {
+        return shard;
+    }
+    
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+    
+    public long getBalance() {
+        return balance;
+    }
+    
+    public void setBalance(long balance) {
+        this.balance = balance;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private String user;
+        private int shard;
+        
+        public Key() {}
+        
+        public Key(String user, int shard) {
+            this.user = user;
+            this.shard = shard;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return shard == key.shard && Objects.equals(user, key.user);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(user, shard);
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package com.project.banking.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "idempotency_keys", indexes = {
+        @Index(name = "idx_idempotency_keys_created_at", columnList = "created_at")
+})
+public class IdempotencyKey implements Persistable<String> {
+    
+    @Id
+    @Column(name = "idempotency_key")
+    private String key;
+    
+    // Sender, recipient and amount of the original request; a reused key must carry the same values
+    @Column(name = "request_fingerprint", nullable = false, length = 600)
+    private String requestFingerprint;
+    
+    @Column(name = "transaction_id")
+    private Long transactionId;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    // Keys are always inserted, never merged, so a duplicate fails on the unique index instead of being read first
+    @Transient
+    private boolean isNew = true;
+    
+    // Constructors
+    public IdempotencyKey() {}
+    
+    public IdempotencyKey(String key, String requestFingerprint) {
+        this.key = key;
+        this.requestFingerprint = requestFingerprint;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+    
+    @Override
+    public String getId() {
+        return key;
+    }
+    
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+    
+    // Getters and Setters
+    public String getKey() {
+        return key;
+    }
+    
+    public void setKey(String key) {
+        this.key = key;
+    }
+    
+    public String getRequestFingerprint() {
+        return requestFingerprint;
+    }
+    
+    public void setRequestFingerprint(String requestFingerprint) {
+        this.requestFingerprint = requestFingerprint;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,114 @@
+package com.project.banking.model;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "ledger_entries", indexes = {
+        @Index(name = "idx_ledger_entries_user_compacted", columnList = "user_id, compacted, shard"),
+        @Index(name = "idx_ledger_entries_transaction", columnList = "transaction_id"),
+        // Partial (compacted = false only) on PostgreSQL
+        @Index(name = "idx_ledger_entries_pending", columnList = "compacted, user_id, shard")
+})
+public class LedgerEntry {
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "ledger_entries_seq")
+    @SequenceGenerator(name = "ledger_entries_seq", sequenceName = "ledger_entries_seq", allocationSize = 50)
+    private Long id;
+    
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    // Null for balance adjustments that do not belong to a transfer
+    @Column(name = "transaction_id")
+    private Long transactionId;
+    
+    // Minor units (cents): negative for a debit, positive for a credit
+    @Column(name = "amount_cents", nullable = false)
+    private long amount;
+    
+    // Balance shard the entry is compacted into: 0 (main balance) unless it is a credit to a hot account
+    @Column(nullable = false)
+    private int shard = 0;
+    
+    // Set once the entry has been rolled into the user's snapshot balance; postings are never changed otherwise
+    @Column(nullable = false)
+    private boolean compacted = false;
+    
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt = LocalDateTime.now();
+    
+    // Constructors
+    public LedgerEntry() {}
+    
+    public LedgerEntry(User user, Long transactionId, long amount) {
+        this(user, transactionId, amount, 0);
+    }
+    
+    public LedgerEntry(User user, Long transactionId, long amount, int shard) {
+        this.user = user;
+        this.transactionId = transactionId;
+        this.amount = amount;
+        this.shard = shard;
+        this.createdAt = LocalDateTime.now();
+    }
+    
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+    
+    public void setId(Long id) {
+        this.id = id;
+    }
+    
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public Long getTransactionId() {
+        return transactionId;
+    }
+    
+    public void setTransactionId(Long transactionId) {
+        this.transactionId = transactionId;
+    }
+    
+    public long getAmount() {
+        return amount;
+    }
+    
+    public void setAmount(long amount) {
+        this.amount = amount;
+    }
+    
+    public int getShard() {
+        return shard;
+    }
+    
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+    
+    public boolean isCompacted() {
+        return compacted;
+    }
+    
+    public void setCompacted(boolean compacted) {
+        this.compacted = compacted;
+    }
+    
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+    
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -1,28 +1,55 @@
 package com.project.banking.model;
 
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.money.MoneySerializer;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.Positive;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "transactions")
+// Index names are the same on PostgreSQL with or without partitioning
+@Table(name = "transactions", indexes = {
+        @Index(name = "idx_transactions_timestamp_id", columnList = "timestamp, id"),
+        @Index(name = "idx_transactions_sender_timestamp_id", columnList = "sender_id, timestamp, id"),
+        @Index(name = "idx_transactions_recipient_timestamp_id", columnList = "recipient_id, timestamp, id")
+})
+// Rows of TransactionRepository.findByUserId, a native query
+@SqlResultSetMapping(name = Transaction.SUMMARY_MAPPING, classes = @ConstructorResult(
+        targetClass = TransactionSummary.class,
+        columns = {
+                @ColumnResult(name = "id", type = Long.class),
+                @ColumnResult(name = "counterparty_id", type = String.class),
+                @ColumnResult(name = "amount_cents", type = long.class),
+                @ColumnResult(name = "direction", type = String.class),
+                @ColumnResult(name = "timestamp", type = LocalDateTime.class)
+        }))
 public class Transaction {
     
+    public static final String SUMMARY_MAPPING = "TransactionSummary";
+    
+    // Sequence ids are assigned without an INSERT round trip, which keeps JDBC insert batching enabled.
+    // The effective allocation size is the sequence increment (banking.transaction-id.allocation-size).
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "transactions_seq")
+    @SequenceGenerator(name = "transactions_seq", sequenceName = "transactions_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "sender_id", nullable = false)
     private User sender;
     
+    // Written by id only: a transfer holds a reference to its recipient, not a loaded user with a balance
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "recipient_id", nullable = false)
+    @JsonSerialize(using = UserReferenceSerializer.class)
     private User recipient;
     
+    // Minor units (cents)
     @Positive(message = "Amount must be greater than 0")
-    @Column(nullable = false)
-    private double amount;
+    @Column(name = "amount_cents", nullable = false)
+    @JsonSerialize(using = MoneySerializer.class)
+    private long amount;
     
     @Column(nullable = false)
     private LocalDateTime timestamp = LocalDateTime.now();
@@ -30,7 +57,7 @@ public class Transaction {
     // Constructors
     public Transaction() {}
     
-    public Transaction(User sender, User recipient, double amount) {
+    public Transaction(User sender, User recipient, long amount) {
         this.sender = sender;
         this.recipient = recipient;
         this.amount = amount;
@@ -62,11 +89,11 @@ public class Transaction {
         this.recipient = recipient;
     }
     
-    public double getAmount() {
+    public long getAmount() {
         return amount;
     }
     
-    public void setAmount(double amount) {
+    public void setAmount(long amount) {
         this.amount = amount;
     }
     
@@ -0,0 +1,147 @@
+package com.project.banking.model;
+
+import jakarta.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+// Transfer totals of the ledger entries compacted into one balance shard of a user (0 is the main balance)
+@Entity
+@Table(name = "transaction_stats")
+@IdClass(TransactionStats.Key.class)
+public class TransactionStats {
+    
+    @Id
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+    
+    @Id
+    @Column(nullable = false)
+    private int shard;
+    
+    @Column(name = "sent_count", nullable = false)
+    private long sentCount;
+    
+    // Minor units (cents)
+    @Column(name = "sent_cents", nullable = false)
+    private long sentAmount;
+    
+    @Column(name = "received_count", nullable = false)
+    private long receivedCount;
+    
+    // Minor units (cents)
+    @Column(name = "received_cents", nullable = false)
+    private long receivedAmount;
+    
+    @Column(name = "last_activity_at")
+    private LocalDateTime lastActivityAt;
+    
+    // Constructors
+    public TransactionStats() {}
+    
+    public TransactionStats(User user, int shard) {
+        this.user = user;
+        this.shard = shard;
+    }
+    
+    // Adds one transfer entry: a debit is a sent transfer, a credit a received one
+    public void add(LedgerEntry entry) {
+        if (entry.getAmount() < 0) {
+            sentCount++;
+            sentAmount -= entry.getAmount();
+        } else {
+            receivedCount++;
+            receivedAmount += entry.getAmount();
+        }
+        if (lastActivityAt == null || entry.getCreatedAt().isAfter(lastActivityAt)) {
+            lastActivityAt = entry.getCreatedAt();
+        }
+    }
+    
+    // Getters and Setters
+    public User getUser() {
+        return user;
+    }
+    
+    public void setUser(User user) {
+        this.user = user;
+    }
+    
+    public int getShard() {
+        return shard;
+    }
+    
+    public void setShard(int shard) {
+        this.shard = shard;
+    }
+    
+    public long getSentCount() {
+        return sentCount;
+    }
+    
+    public void setSentCount(long sentCount) {
+        this.sentCount = sentCount;
+    }
+    
+    public long getSentAmount() {
+        return sentAmount;
+    }
+    
+    public void setSentAmount(long sentAmount) {
+        this.sentAmount = sentAmount;
+    }
+    
+    public long getReceivedCount() {
+        return receivedCount;
+    }
+    
+    public void setReceivedCount(long receivedCount) {
+        this.receivedCount = receivedCount;
+    }
+    
+    public long getReceivedAmount() {
+        return receivedAmount;
+    }
+    
+    public void setReceivedAmount(long receivedAmount) {
+        this.receivedAmount = receivedAmount;
+    }
+    
+    public LocalDateTime getLastActivityAt() {
+        return lastActivityAt;
+    }
+    
+    public void setLastActivityAt(LocalDateTime lastActivityAt) {
+        this.lastActivityAt = lastActivityAt;
+    }
+    
+    public static class Key implements Serializable {
+        
+        private String user;
+        private int shard;
+        
+        public Key() {}
+        
+        public Key(String user, int shard) {
+            this.user = user;
+            this.shard = shard;
+        }
+        
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key key)) {
+                return false;
+            }
+            return shard == key.shard && Objects.equals(user, key.user);
+        }
+        
+        @Override
+        public int hashCode() {
+            return Objects.hash(user, shard);
+        }
+    }
+}
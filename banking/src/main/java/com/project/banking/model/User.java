@@ -2,7 +2,12 @@ package com.project.banking.model;
 
 import jakarta.persistence.*;
 import jakarta.validation.constraints.*;
+import org.hibernate.annotations.Formula;
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.project.banking.money.MoneyDeserializer;
+import com.project.banking.money.MoneySerializer;
 import java.util.List;
 import java.util.ArrayList;
 
@@ -22,9 +27,24 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
     
+    // Balance as of the last ledger compaction, in minor units (cents); the opening balance of a new user
+    @Column(name = "balance_cents", nullable = false)
+    @JsonIgnore
+    private long snapshotBalance = 0;
+    
+    // Current balance: the snapshot, any hot-account shard balances and the ledger entries not yet compacted into
+    // either, computed by the database in one statement. Minor units (cents); exposed in JSON as a decimal amount
+    @Formula("balance_cents + (SELECT COALESCE(SUM(s.balance_cents), 0) FROM balance_shards s WHERE s.user_id = id) " +
+             "+ (SELECT COALESCE(SUM(e.amount_cents), 0) FROM ledger_entries e WHERE e.user_id = id AND e.compacted = FALSE)")
     @PositiveOrZero(message = "Balance must be non-negative")
-    @Column(nullable = false)
-    private double balance = 0.0;
+    @JsonSerialize(using = MoneySerializer.class)
+    @JsonDeserialize(using = MoneyDeserializer.class)
+    private long balance = 0;
+    
+    // Number of credit shards; 0 for a normal account, n > 0 spreads its incoming credits over n sub-balances
+    @Column(name = "balance_shards", nullable = false)
+    @JsonIgnore
+    private int balanceShards = 0;
     
     @OneToMany(mappedBy = "sender", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     @JsonIgnore
@@ -34,13 +54,26 @@ public class User {
     @JsonIgnore
     private List<Transaction> receivedTransactions = new ArrayList<>();
     
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
+    private List<LedgerEntry> ledgerEntries = new ArrayList<>();
+    
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
+    private List<BalanceShard> shards = new ArrayList<>();
+    
+    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
+    @JsonIgnore
+    private List<TransactionStats> transactionStats = new ArrayList<>();
+    
     // Constructors
     public User() {}
     
-    public User(String id, String name, String email, double balance) {
+    public User(String id, String name, String email, long balance) {
         this.id = id;
         this.name = name;
         this.email = email;
+        this.snapshotBalance = balance;
         this.balance = balance;
     }
     
@@ -69,14 +102,37 @@ public class User {
         this.email = email;
     }
     
-    public double getBalance() {
+    public long getBalance() {
         return balance;
     }
     
-    public void setBalance(double balance) {
+    // Opening balance of a user that is not persisted yet; afterwards balances only change through ledger entries
+    public void setBalance(long balance) {
+        this.snapshotBalance = balance;
+        this.balance = balance;
+    }
+    
+    // Updates the loaded value only, e.g. after posting entries in the current transaction; never written back
+    public void setCurrentBalance(long balance) {
         this.balance = balance;
     }
     
+    public long getSnapshotBalance() {
+        return snapshotBalance;
+    }
+    
+    public void setSnapshotBalance(long snapshotBalance) {
+        this.snapshotBalance = snapshotBalance;
+    }
+    
+    public int getBalanceShards() {
+        return balanceShards;
+    }
+    
+    public void setBalanceShards(int balanceShards) {
+        this.balanceShards = balanceShards;
+    }
+    
     public List<Transaction> getSentTransactions() {
         return sentTransactions;
     }
@@ -92,4 +148,28 @@ public class User {
     public void setReceivedTransactions(List<Transaction> receivedTransactions) {
         this.receivedTransactions = receivedTransactions;
     }
+    
+    public List<LedgerEntry> getLedgerEntries() {
+        return ledgerEntries;
+    }
+    
+    public void setLedgerEntries(List<LedgerEntry> ledgerEntries) {
+        this.ledgerEntries = ledgerEntries;
+    }
+    
+    public List<BalanceShard> getShards() {
+        return shards;
+    }
+    
+    public void setShards(List<BalanceShard> shards) {
+        this.shards = shards;
+    }
+    
+    public List<TransactionStats> getTransactionStats() {
+        return transactionStats;
+    }
+    
+    public void setTransactionStats(List<TransactionStats> transactionStats) {
+        this.transactionStats = transactionStats;
+    }
 }
@@ -0,0 +1,42 @@
+package com.project.banking.model;
+
+import com.project.banking.config.CacheConfig;
+import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.Immutable;
+
+// Read-only view of the users columns that never change after creation, held in the second-level cache. User
+// itself is not cached: its balance is computed from the ledger on every load. Users are never updated through
+// this view nor deleted, so a cached profile cannot go stale.
+@Entity
+@Immutable
+@Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_ONLY, region = CacheConfig.USER_PROFILES)
+public class UserProfile {
+    
+    @Id
+    private String id;
+    
+    @Column(nullable = false)
+    private String name;
+    
+    @Column(nullable = false)
+    private String email;
+    
+    // Constructors
+    protected UserProfile() {}
+    
+    // Getters
+    public String getId() {
+        return id;
+    }
+    
+    public String getName() {
+        return name;
+    }
+    
+    public String getEmail() {
+        return email;
+    }
+}
@@ -0,0 +1,22 @@
+package com.project.banking.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+// Writes a user as {"id": ...} only. Reading the id of a Hibernate reference does not load the row, so a
+// transfer's recipient is written without computing its balance.
+public class UserReferenceSerializer extends StdSerializer<User> {
+    
+    public UserReferenceSerializer() {
+        super(User.class);
+    }
+    
+    @Override
+    public void serialize(User user, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", user.getId());
+        generator.writeEndObject();
+    }
+}
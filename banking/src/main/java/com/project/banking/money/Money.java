@@ -0,0 +1,104 @@
+package com.project.banking.money;
+
+// Amounts are held as long minor units (cents); these helpers convert to and from decimal text
+public final class Money {
+    
+    public static final int SCALE = 2;
+    
+    private static final long MAX_UNITS = Long.MAX_VALUE / 100;
+    
+    private Money() {}
+    
+    public static long parse(CharSequence text) {
+        char[] chars = new char[text.length()];
+        for (int i = 0; i < chars.length; i++) {
+            chars[i] = text.charAt(i);
+        }
+        return parse(chars, 0, chars.length);
+    }
+    
+    // Parses "123", "123.4" or "-123.45" without going through BigDecimal or double
+    public static long parse(char[] chars, int offset, int length) {
+        int end = offset + length;
+        int i = offset;
+        boolean negative = i < end && chars[i] == '-';
+        if (negative) {
+            i++;
+        }
+        
+        long units = 0;
+        int integerDigits = 0;
+        while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+            if (units > MAX_UNITS / 10) {
+                throw invalid(chars, offset, length);
+            }
+            units = units * 10 + (chars[i++] - '0');
+            integerDigits++;
+        }
+        
+        long cents = 0;
+        int fractionDigits = 0;
+        if (i < end && chars[i] == '.') {
+            i++;
+            while (i < end && chars[i] >= '0' && chars[i] <= '9') {
+                if (fractionDigits == SCALE) {
+                    // Trailing zeros beyond the scale are harmless; anything else would be silently rounded
+                    if (chars[i] != '0') {
+                        throw invalid(chars, offset, length);
+                    }
+                } else {
+                    cents = cents * 10 + (chars[i] - '0');
+                    fractionDigits++;
+                }
+                i++;
+            }
+            if (fractionDigits == 0) {
+                throw invalid(chars, offset, length);
+            }
+        }
+        
+        for (int d = fractionDigits; d < SCALE; d++) {
+            cents *= 10;
+        }
+        if (i != end || integerDigits == 0 || units > (Long.MAX_VALUE - cents) / 100) {
+            throw invalid(chars, offset, length);
+        }
+        
+        long result = units * 100 + cents;
+        return negative ? -result : result;
+    }
+    
+    public static String format(long cents) {
+        char[] buffer = new char[21];
+        int length = format(cents, buffer);
+        return new String(buffer, 0, length);
+    }
+    
+    // Writes e.g. "-12.05" into the start of the buffer (at least 21 chars) and returns its length
+    public static int format(long cents, char[] buffer) {
+        boolean negative = cents < 0;
+        long magnitude = Math.abs(cents / 100);
+        int fraction = (int) Math.abs(cents % 100);
+        
+        int pos = buffer.length;
+        buffer[--pos] = (char) ('0' + fraction % 10);
+        buffer[--pos] = (char) ('0' + fraction / 10);
+        buffer[--pos] = '.';
+        do {
+            buffer[--pos] = (char) ('0' + magnitude % 10);
+            magnitude /= 10;
+        } while (magnitude > 0);
+        if (negative) {
+            buffer[--pos] = '-';
+        }
+        
+        int length = buffer.length - pos;
+        System.arraycopy(buffer, pos, buffer, 0, length);
+        return length;
+    }
+    
+    private static IllegalArgumentException invalid(char[] chars, int offset, int length) {
+        return new IllegalArgumentException("Invalid amount: " + new String(chars, offset, length)
+                + " (expected a decimal with at most " + SCALE + " fraction digits)");
+    }
+}
@@ -0,0 +1,28 @@
+package com.project.banking.money;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import java.io.IOException;
+
+// Reads a JSON number or numeric string straight from the parser's char buffer into minor units
+public class MoneyDeserializer extends StdDeserializer<Long> {
+    
+    public MoneyDeserializer() {
+        super(Long.class);
+    }
+    
+    @Override
+    public Long deserialize(JsonParser parser, DeserializationContext context) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_INT && token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_STRING) {
+            return (Long) context.handleUnexpectedToken(Long.class, parser);
+        }
+        try {
+            return Money.parse(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+        } catch (IllegalArgumentException e) {
+            return (Long) context.handleWeirdStringValue(Long.class, parser.getText(), e.getMessage());
+        }
+    }
+}
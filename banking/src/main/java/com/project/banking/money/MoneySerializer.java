@@ -0,0 +1,21 @@
+package com.project.banking.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+
+// Writes minor units as a plain JSON decimal number (12345 -> 123.45)
+public class MoneySerializer extends StdSerializer<Long> {
+    
+    public MoneySerializer() {
+        super(Long.class);
+    }
+    
+    @Override
+    public void serialize(Long cents, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        char[] buffer = new char[21];
+        int length = Money.format(cents, buffer);
+        generator.writeNumber(buffer, 0, length);
+    }
+}
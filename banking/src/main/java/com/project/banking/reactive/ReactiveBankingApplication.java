@@ -0,0 +1,39 @@
+package com.project.banking.reactive;
+
+import com.project.banking.config.JacksonConfig;
+import com.project.banking.exception.GlobalExceptionHandler;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Profile;
+
+// Optional non-blocking stack: the core user and transfer endpoints on WebFlux (Netty) with R2DBC, against the
+// same schema as BankingApplication. Requests wait for the database without holding a thread, so the number in
+// flight is bounded by connections rather than by a request thread pool. Background work (ledger compaction,
+// outbox relay, partition maintenance, idempotency purge) only runs in BankingApplication, so at least one
+// instance of it must run against the same database.
+//   mvn spring-boot:run -Dspring-boot.run.main-class=com.project.banking.reactive.ReactiveBankingApplication
+@SpringBootApplication
+@Profile(ReactiveBankingApplication.PROFILE)
+@Import({GlobalExceptionHandler.class, JacksonConfig.class})
+public class ReactiveBankingApplication {
+    
+    // Also keeps this package out of BankingApplication, whose component scan covers it
+    public static final String PROFILE = "reactive";
+    
+    public static void main(String[] args) {
+        new SpringApplicationBuilder(ReactiveBankingApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .profiles(PROFILE)
+                .run(args);
+    }
+    
+    // Tomcat is on the classpath for BankingApplication and would otherwise be preferred
+    @Bean
+    public NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+}
@@ -0,0 +1,63 @@
+package com.project.banking.reactive;
+
+import com.project.banking.model.LedgerEntry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+// R2DBC counterpart of LedgerEntryRepository, limited to what transfers and adjustments write and read
+@Repository
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveLedgerRepository {
+    
+    private final DatabaseClient databaseClient;
+    
+    @Autowired
+    public ReactiveLedgerRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    // First id of a block of 50 (the sequence increment, as for Hibernate's pooled-lo optimizer in
+    // BankingApplication); the caller may use the block's ids for the rows it inserts
+    public Mono<Long> nextIdBlock() {
+        return databaseClient.sql("SELECT nextval('ledger_entries_seq') AS id")
+                .map(row -> row.get("id", Long.class))
+                .one();
+    }
+    
+    public Mono<Long> sumPending(String userId, int shard) {
+        return databaseClient.sql("SELECT CAST(COALESCE(SUM(amount_cents), 0) AS BIGINT) AS pending FROM ledger_entries " +
+                        "WHERE user_id = :userId AND compacted = FALSE AND shard = :shard")
+                .bind("userId", userId)
+                .bind("shard", shard)
+                .map(row -> row.get("pending", Long.class))
+                .one();
+    }
+    
+    // One multi-row INSERT; the entries must have their ids set
+    public Mono<Void> insertAll(List<LedgerEntry> entries) {
+        StringBuilder sql = new StringBuilder(
+                "INSERT INTO ledger_entries (id, user_id, transaction_id, amount_cents, shard, compacted, created_at) VALUES ");
+        for (int i = 0; i < entries.size(); i++) {
+            sql.append(i == 0 ? "" : ", ").append(String.format(
+                    "(:id%1$d, :userId%1$d, :transactionId%1$d, :amount%1$d, :shard%1$d, FALSE, :createdAt%1$d)", i));
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.toString());
+        for (int i = 0; i < entries.size(); i++) {
+            LedgerEntry entry = entries.get(i);
+            spec = spec.bind("id" + i, entry.getId())
+                    .bind("userId" + i, entry.getUser().getId())
+                    .bind("amount" + i, entry.getAmount())
+                    .bind("shard" + i, entry.getShard())
+                    .bind("createdAt" + i, entry.getCreatedAt());
+            // Adjustments do not belong to a transfer
+            spec = entry.getTransactionId() != null
+                    ? spec.bind("transactionId" + i, entry.getTransactionId())
+                    : spec.bindNull("transactionId" + i, Long.class);
+        }
+        return spec.then();
+    }
+}
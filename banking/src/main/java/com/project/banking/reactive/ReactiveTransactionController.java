@@ -0,0 +1,63 @@
+package com.project.banking.reactive;
+
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.model.Transaction;
+import com.project.banking.service.TransactionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+
+// TransactionController's history and single-transfer endpoints. Idempotency keys, async mode, batches and
+// exports are only served by BankingApplication.
+@RestController
+@RequestMapping("/api/transactions")
+@CrossOrigin(origins = "*")
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveTransactionController {
+    
+    private final ReactiveTransferService transferService;
+    
+    @Autowired
+    public ReactiveTransactionController(ReactiveTransferService transferService) {
+        this.transferService = transferService;
+    }
+    
+    @GetMapping
+    public Mono<ResponseEntity<TransactionPage<TransactionView>>> getAllTransactions(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return transferService.getTransactionPage(cursor, size, from, to).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<Transaction>> createTransaction(
+            @RequestBody TransactionRequest request,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        // Silently ignoring the key would turn a client's retry into a second debit
+        if (idempotencyKey != null) {
+            return Mono.error(new IllegalArgumentException("Idempotency-Key is not supported by the reactive API"));
+        }
+        return transferService.createTransaction(request.getSenderId(), request.getRecipientId(), request.getAmount())
+                .map(transaction -> ResponseEntity.status(HttpStatus.CREATED).body(transaction));
+    }
+    
+    @GetMapping("/user/{userId}")
+    public Mono<ResponseEntity<TransactionPage<TransactionSummary>>> getTransactionsByUserId(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + TransactionService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return transferService.getTransactionPageByUserId(userId, cursor, size, from, to).map(ResponseEntity::ok);
+    }
+}
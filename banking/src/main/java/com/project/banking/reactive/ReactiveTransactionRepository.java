@@ -0,0 +1,177 @@
+package com.project.banking.reactive;
+
+import com.project.banking.dto.TransactionDirection;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.model.OutboxEvent;
+import com.project.banking.model.Transaction;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.time.LocalDateTime;
+
+// R2DBC counterpart of TransactionRepository (and of the outbox insert). Queries keep the same shapes: bounded
+// timestamp ranges for partition pruning, keyset pages and the UNION ALL per-user history cut on each side.
+@Repository
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveTransactionRepository {
+    
+    private static final String KEYSET = "t.timestamp >= :fromTimestamp AND t.timestamp <= :beforeTimestamp " +
+            "AND (t.timestamp < :beforeTimestamp OR (t.timestamp = :beforeTimestamp AND t.id < :beforeId))";
+    
+    private static final String NEWEST_FIRST = " ORDER BY t.timestamp DESC, t.id DESC LIMIT :limit";
+    
+    private static final String FIND_PAGE = "SELECT t.id, sender.id AS sender_id, sender.name AS sender_name, " +
+            "recipient.id AS recipient_id, recipient.name AS recipient_name, t.amount_cents, t.timestamp " +
+            "FROM transactions t JOIN users sender ON sender.id = t.sender_id JOIN users recipient ON recipient.id = t.recipient_id " +
+            "WHERE " + KEYSET + NEWEST_FIRST;
+    
+    private static final String FIND_BY_USER_ID = "SELECT h.id, h.counterparty_id, h.amount_cents, h.direction, h.timestamp FROM (" +
+            "(SELECT t.id, t.recipient_id AS counterparty_id, t.amount_cents, 'SENT' AS direction, t.timestamp " +
+            "FROM transactions t WHERE t.sender_id = :userId AND " + KEYSET + NEWEST_FIRST + ") " +
+            "UNION ALL " +
+            "(SELECT t.id, t.sender_id, t.amount_cents, 'RECEIVED', t.timestamp " +
+            "FROM transactions t WHERE t.recipient_id = :userId AND " + KEYSET + NEWEST_FIRST + ")" +
+            ") h ORDER BY h.timestamp DESC, h.id DESC LIMIT :limit";
+    
+    private final DatabaseClient databaseClient;
+    private final IdBlock transactionIds = new IdBlock("transactions_seq");
+    private final IdBlock entryIds = new IdBlock("ledger_entries_seq");
+    private final IdBlock eventIds = new IdBlock("outbox_events_seq");
+    
+    @Autowired
+    public ReactiveTransactionRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    // Ids for one transfer, normally without a round trip: each sequence call reserves a whole block of its
+    // increment for this instance, as Hibernate's pooled-lo optimizer does, so a sequence is only called again
+    // once its block is used up. The blocks never overlap ids BankingApplication hands out.
+    public Mono<TransferIds> nextTransferIds() {
+        return transactionIds.take(1).flatMap(transactionId -> entryIds.take(2).flatMap(entryId ->
+                eventIds.take(1).map(eventId -> new TransferIds(transactionId, entryId, eventId))));
+    }
+    
+    public Mono<Void> insert(Transaction transaction) {
+        return databaseClient.sql("INSERT INTO transactions (id, sender_id, recipient_id, amount_cents, timestamp) " +
+                        "VALUES (:id, :senderId, :recipientId, :amount, :timestamp)")
+                .bind("id", transaction.getId())
+                .bind("senderId", transaction.getSender().getId())
+                .bind("recipientId", transaction.getRecipient().getId())
+                .bind("amount", transaction.getAmount())
+                .bind("timestamp", transaction.getTimestamp())
+                .then();
+    }
+    
+    public Mono<Void> insertOutboxEvent(OutboxEvent event) {
+        return databaseClient.sql("INSERT INTO outbox_events (id, event_type, aggregate_id, payload, created_at) " +
+                        "VALUES (:id, :eventType, :aggregateId, :payload, :createdAt)")
+                .bind("id", event.getId())
+                .bind("eventType", event.getEventType())
+                .bind("aggregateId", event.getAggregateId())
+                .bind("payload", event.getPayload())
+                .bind("createdAt", event.getCreatedAt())
+                .then();
+    }
+    
+    public Flux<TransactionView> findPage(LocalDateTime fromTimestamp, LocalDateTime beforeTimestamp, long beforeId,
+                                          int limit) {
+        return databaseClient.sql(FIND_PAGE)
+                .bind("fromTimestamp", fromTimestamp)
+                .bind("beforeTimestamp", beforeTimestamp)
+                .bind("beforeId", beforeId)
+                .bind("limit", limit)
+                .map(row -> new TransactionView(row.get("id", Long.class), row.get("sender_id", String.class),
+                        row.get("sender_name", String.class), row.get("recipient_id", String.class),
+                        row.get("recipient_name", String.class), row.get("amount_cents", Long.class),
+                        row.get("timestamp", LocalDateTime.class)))
+                .all();
+    }
+    
+    public Flux<TransactionSummary> findByUserId(String userId, LocalDateTime fromTimestamp,
+                                                 LocalDateTime beforeTimestamp, long beforeId, int limit) {
+        return databaseClient.sql(FIND_BY_USER_ID)
+                .bind("userId", userId)
+                .bind("fromTimestamp", fromTimestamp)
+                .bind("beforeTimestamp", beforeTimestamp)
+                .bind("beforeId", beforeId)
+                .bind("limit", limit)
+                .map(row -> new TransactionSummary(row.get("id", Long.class), row.get("counterparty_id", String.class),
+                        row.get("amount_cents", Long.class),
+                        TransactionDirection.valueOf(row.get("direction", String.class).trim()),
+                        row.get("timestamp", LocalDateTime.class)))
+                .all();
+    }
+    
+    // Pooled-lo block of one sequence: nextval returns the lowest of the next `increment` ids. The increment is
+    // read with it, so a changed allocation size (see afterMigrate.sql) is adopted like Hibernate does.
+    private final class IdBlock {
+        
+        private final String sequence;
+        private final String reserveSql;
+        private long next;
+        private long end;
+        
+        private IdBlock(String sequence) {
+            this.sequence = sequence;
+            this.reserveSql = "SELECT nextval('" + sequence + "') AS lo, (SELECT CAST(increment AS BIGINT) " +
+                    "FROM information_schema.sequences WHERE sequence_name = '" + sequence + "' " +
+                    "AND sequence_schema = CURRENT_SCHEMA) AS size";
+        }
+        
+        // First of `count` consecutive ids. A remainder too short for them is dropped for a new block.
+        private Mono<Long> take(int count) {
+            return Mono.defer(() -> {
+                synchronized (this) {
+                    if (end - next >= count) {
+                        long first = next;
+                        next += count;
+                        return Mono.just(first);
+                    }
+                }
+                return databaseClient.sql(reserveSql)
+                        .map(row -> install(row.get("lo", Long.class), row.get("size", Long.class), count))
+                        .one();
+            });
+        }
+        
+        // Concurrent refills each reserve a block of their own; the one installed last serves the next transfers
+        private synchronized long install(long lo, long size, int count) {
+            if (size < count) {
+                throw new IllegalStateException(sequence + " must increment by at least " + count);
+            }
+            next = lo + count;
+            end = lo + size;
+            return lo;
+        }
+    }
+    
+    public static final class TransferIds {
+        
+        private final long transactionId;
+        // First of the transfer's two consecutive ledger entry ids (debit, then credit)
+        private final long entryId;
+        private final long eventId;
+        
+        private TransferIds(long transactionId, long entryId, long eventId) {
+            this.transactionId = transactionId;
+            this.entryId = entryId;
+            this.eventId = eventId;
+        }
+        
+        public long getTransactionId() {
+            return transactionId;
+        }
+        
+        public long getEntryId() {
+            return entryId;
+        }
+        
+        public long getEventId() {
+            return eventId;
+        }
+    }
+}
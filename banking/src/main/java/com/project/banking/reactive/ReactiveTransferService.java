@@ -0,0 +1,195 @@
+package com.project.banking.reactive;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.dto.TransactionCreatedEvent;
+import com.project.banking.dto.TransactionCursor;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.exception.InsufficientBalanceException;
+import com.project.banking.model.LedgerEntry;
+import com.project.banking.model.OutboxEvent;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.money.Money;
+import com.project.banking.service.LedgerService;
+import com.project.banking.service.OutboxService;
+import com.project.banking.service.TransactionService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The transfer of TransactionService as one non-blocking R2DBC transaction, writing the same rows: the sender is
+// locked and its balance checked, then the transaction, its debit and credit postings and its transaction.created
+// outbox event are inserted. No thread waits while a statement or a lock is pending.
+@Service
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveTransferService {
+    
+    private final ReactiveTransactionRepository transactionRepository;
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveLedgerRepository ledgerRepository;
+    private final TransactionalOperator transactionalOperator;
+    private final ObjectMapper objectMapper;
+    private final Retry transferRetry;
+    private final Timer committedTimer;
+    private final Timer rolledBackTimer;
+    
+    @Autowired
+    public ReactiveTransferService(ReactiveTransactionRepository transactionRepository,
+                                   ReactiveUserRepository userRepository, ReactiveLedgerRepository ledgerRepository,
+                                   ReactiveTransactionManager transactionManager, ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${banking.transfer.retry.max-attempts:5}") int maxAttempts,
+                                   @Value("${banking.transfer.retry.initial-backoff-ms:10}") long initialBackoffMs,
+                                   @Value("${banking.transfer.retry.max-backoff-ms:200}") long maxBackoffMs) {
+        this.transactionRepository = transactionRepository;
+        this.userRepository = userRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.objectMapper = objectMapper;
+        // Same policy as @TransferRetry: lost lock races (deadlock, lock timeout, serialization failure) are re-run
+        this.transferRetry = Retry.backoff(maxAttempts - 1, Duration.ofMillis(initialBackoffMs))
+                .maxBackoff(Duration.ofMillis(maxBackoffMs))
+                .filter(ConcurrencyFailureException.class::isInstance)
+                .onRetryExhaustedThrow((spec, signal) -> signal.failure());
+        this.committedTimer = Timer.builder("banking.transfer")
+                .description("Transfer attempt from validation to commit")
+                .tag("outcome", "committed")
+                .register(meterRegistry);
+        this.rolledBackTimer = Timer.builder("banking.transfer")
+                .description("Transfer attempt from validation to commit")
+                .tag("outcome", "rolled_back")
+                .register(meterRegistry);
+    }
+    
+    public Mono<Transaction> createTransaction(String senderId, String recipientId, long amount) {
+        // Validation: Check if both accounts are given and different
+        if (senderId == null || recipientId == null) {
+            return Mono.error(new IllegalArgumentException("Sender ID and recipient ID are required"));
+        }
+        if (senderId.equals(recipientId)) {
+            return Mono.error(new IllegalArgumentException("Sender and recipient cannot be the same"));
+        }
+        
+        // Validation: Check amount
+        if (amount <= 0) {
+            return Mono.error(new IllegalArgumentException("Transaction amount must be greater than 0"));
+        }
+        
+        return Mono.defer(() -> {
+            long started = System.nanoTime();
+            return transfer(senderId, recipientId, amount)
+                    .as(transactionalOperator::transactional)
+                    .doOnSuccess(transaction -> committedTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS))
+                    .doOnError(error -> rolledBackTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS));
+        }).retryWhen(transferRetry);
+    }
+    
+    // Only the sender is locked: debits of one account are serialized, credits never wait on the recipient.
+    // The recipient's balance is not read at all; its sums grow with the account's pending entries.
+    private Mono<Transaction> transfer(String senderId, String recipientId, long amount) {
+        return userRepository.findByIdForUpdate(senderId)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Sender not found with id: " + senderId)))
+                .flatMap(sender -> userRepository.findCreditTarget(recipientId)
+                        .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("Recipient not found with id: " + recipientId)))
+                        .flatMap(recipient -> availableBalance(sender, amount)
+                                .flatMap(available -> post(sender, recipient, amount, available))));
+    }
+    
+    // As LedgerService.availableBalance: a hot account's main balance is a lower bound that is checked first
+    private Mono<Long> availableBalance(User lockedSender, long amount) {
+        Mono<Long> current = userRepository.findCurrentBalance(lockedSender.getId());
+        if (lockedSender.getBalanceShards() == 0) {
+            return current;
+        }
+        return ledgerRepository.sumPending(lockedSender.getId(), 0)
+                .flatMap(pending -> {
+                    long main = lockedSender.getSnapshotBalance() + pending;
+                    return main >= amount ? Mono.just(main) : current;
+                });
+    }
+    
+    private Mono<Transaction> post(User sender, User recipient, long amount, long available) {
+        // Validation: Check sender balance (row is locked, so no other debit can change it before commit)
+        if (available < amount) {
+            return Mono.error(new InsufficientBalanceException("Insufficient balance. Available: "
+                    + Money.format(available) + ", Required: " + Money.format(amount)));
+        }
+        return transactionRepository.nextTransferIds().flatMap(ids -> {
+            Transaction transaction = new Transaction(sender, recipient, amount);
+            transaction.setId(ids.getTransactionId());
+            LedgerEntry debit = new LedgerEntry(sender, transaction.getId(), -amount);
+            debit.setId(ids.getEntryId());
+            LedgerEntry credit = new LedgerEntry(recipient, transaction.getId(), amount,
+                    LedgerService.creditShard(recipient, transaction.getId()));
+            credit.setId(ids.getEntryId() + 1);
+            OutboxEvent event = new OutboxEvent(OutboxService.TRANSACTION_CREATED, String.valueOf(transaction.getId()),
+                    toJson(new TransactionCreatedEvent(transaction)));
+            event.setId(ids.getEventId());
+            
+            // For a hot sender `available` may be its main balance only; keep the total loaded with the lock instead
+            long senderBalance = sender.getBalanceShards() > 0 ? sender.getBalance() : available;
+            return transactionRepository.insert(transaction)
+                    .then(ledgerRepository.insertAll(List.of(debit, credit)))
+                    .then(transactionRepository.insertOutboxEvent(event))
+                    .then(Mono.fromSupplier(() -> {
+                        sender.setCurrentBalance(senderBalance - amount);
+                        return transaction;
+                    }));
+        });
+    }
+    
+    public Mono<TransactionPage<TransactionView>> getTransactionPage(String cursor, int size, LocalDateTime from,
+                                                                     LocalDateTime to) {
+        return Mono.fromCallable(() -> {
+            TransactionService.validatePageSize(size);
+            return TransactionService.startPosition(cursor, to);
+        }).flatMap(position -> transactionRepository.findPage(from != null ? from : TransactionService.EARLIEST,
+                        position.getTimestamp(), position.getId(), size + 1)
+                .collectList()
+                .map(rows -> TransactionService.toPage(rows, size,
+                        t -> new TransactionCursor(t.getTimestamp(), t.getId()))));
+    }
+    
+    public Mono<TransactionPage<TransactionSummary>> getTransactionPageByUserId(String userId, String cursor, int size,
+                                                                                LocalDateTime from, LocalDateTime to) {
+        return Mono.fromCallable(() -> {
+            TransactionService.validatePageSize(size);
+            return TransactionService.startPosition(cursor, to);
+        }).flatMap(position -> userRepository.existsById(userId)
+                .flatMap(exists -> {
+                    // Verify user exists
+                    if (!exists) {
+                        return Mono.error(new EntityNotFoundException("User not found with id: " + userId));
+                    }
+                    return transactionRepository.findByUserId(userId, from != null ? from : TransactionService.EARLIEST,
+                                    position.getTimestamp(), position.getId(), size + 1)
+                            .collectList()
+                            .map(rows -> TransactionService.toPage(rows, size,
+                                    t -> new TransactionCursor(t.getTimestamp(), t.getId())));
+                }));
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.project.banking.reactive;
+
+import com.project.banking.model.User;
+import com.project.banking.money.Money;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// UserController's profile and balance endpoints. Stats, bulk import, balance shards and event streams are only
+// served by BankingApplication.
+@RestController
+@RequestMapping("/api/users")
+@CrossOrigin(origins = "*")
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveUserController {
+    
+    private final ReactiveUserService userService;
+    
+    @Autowired
+    public ReactiveUserController(ReactiveUserService userService) {
+        this.userService = userService;
+    }
+    
+    @GetMapping
+    public Flux<User> getAllUsers() {
+        return userService.getAllUsers();
+    }
+    
+    @GetMapping("/{id}")
+    public Mono<ResponseEntity<User>> getUserById(@PathVariable String id) {
+        return userService.getUserById(id).map(ResponseEntity::ok);
+    }
+    
+    @PostMapping
+    public Mono<ResponseEntity<User>> createUser(@RequestBody User user) {
+        return userService.createUser(user)
+                .map(createdUser -> ResponseEntity.status(HttpStatus.CREATED).body(createdUser));
+    }
+    
+    @PutMapping("/{id}/balance")
+    public Mono<ResponseEntity<String>> updateBalance(@PathVariable String id, @RequestParam String balance) {
+        return Mono.fromCallable(() -> Money.parse(balance))
+                .flatMap(newBalance -> userService.updateBalance(id, newBalance))
+                .thenReturn(ResponseEntity.ok("Balance updated successfully"));
+    }
+}
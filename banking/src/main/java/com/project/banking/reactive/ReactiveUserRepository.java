@@ -0,0 +1,113 @@
+package com.project.banking.reactive;
+
+import com.project.banking.model.User;
+import io.r2dbc.spi.Readable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// R2DBC counterpart of UserRepository. Balances are computed by the same expression as User's @Formula.
+@Repository
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveUserRepository {
+    
+    private static final String SELECT_USER = "SELECT u.id, u.name, u.email, u.balance_cents, u.balance_shards, " +
+            currentBalance("u") + " AS balance FROM users u";
+    
+    private final DatabaseClient databaseClient;
+    
+    @Autowired
+    public ReactiveUserRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+    
+    public Flux<User> findAll() {
+        return databaseClient.sql(SELECT_USER)
+                .map(ReactiveUserRepository::toUser)
+                .all();
+    }
+    
+    public Mono<User> findById(String id) {
+        return databaseClient.sql(SELECT_USER + " WHERE u.id = :id")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+    
+    // What a credit needs of its recipient: id and shard count, without the balance sums of SELECT_USER
+    public Mono<User> findCreditTarget(String id) {
+        return databaseClient.sql("SELECT u.id, u.balance_shards FROM users u WHERE u.id = :id")
+                .bind("id", id)
+                .map(row -> {
+                    User user = new User();
+                    user.setId(row.get("id", String.class));
+                    user.setBalanceShards(row.get("balance_shards", Integer.class));
+                    return user;
+                })
+                .one();
+    }
+    
+    public Mono<Boolean> existsById(String id) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE id = :id")
+                .bind("id", id)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+    
+    public Mono<Boolean> existsByEmail(String email) {
+        return databaseClient.sql("SELECT 1 FROM users WHERE email = :email")
+                .bind("email", email)
+                .map(row -> true)
+                .first()
+                .defaultIfEmpty(false);
+    }
+    
+    // The balance loaded here comes from the statement's snapshot, taken before the lock was granted; a balance
+    // to check a debit against has to be read by a later statement (findCurrentBalance), which then sees every
+    // debit committed by whoever held the lock before
+    public Mono<User> findByIdForUpdate(String id) {
+        return databaseClient.sql(SELECT_USER + " WHERE u.id = :id FOR UPDATE")
+                .bind("id", id)
+                .map(ReactiveUserRepository::toUser)
+                .one();
+    }
+    
+    public Mono<Long> findCurrentBalance(String id) {
+        return databaseClient.sql("SELECT " + currentBalance("u") + " AS balance FROM users u WHERE u.id = :id")
+                .bind("id", id)
+                .map(row -> row.get("balance", Long.class))
+                .one();
+    }
+    
+    public Mono<Void> insert(User user) {
+        return databaseClient.sql("INSERT INTO users (id, name, email, balance_cents, balance_shards) " +
+                        "VALUES (:id, :name, :email, :balance, :shards)")
+                .bind("id", user.getId())
+                .bind("name", user.getName())
+                .bind("email", user.getEmail())
+                .bind("balance", user.getSnapshotBalance())
+                .bind("shards", user.getBalanceShards())
+                .then();
+    }
+    
+    // Snapshot, hot-account shards and ledger entries not yet compacted, for the users row aliased `alias`.
+    // SUM over BIGINT is NUMERIC in PostgreSQL; the cast keeps the result a long for the driver.
+    private static String currentBalance(String alias) {
+        return "CAST(" + alias + ".balance_cents " +
+                "+ (SELECT COALESCE(SUM(bs.balance_cents), 0) FROM balance_shards bs WHERE bs.user_id = " + alias + ".id) " +
+                "+ (SELECT COALESCE(SUM(le.amount_cents), 0) FROM ledger_entries le " +
+                "WHERE le.user_id = " + alias + ".id AND le.compacted = FALSE) AS BIGINT)";
+    }
+    
+    private static User toUser(Readable row) {
+        User user = new User(row.get("id", String.class), row.get("name", String.class), row.get("email", String.class),
+                row.get("balance_cents", Long.class));
+        user.setBalanceShards(row.get("balance_shards", Integer.class));
+        user.setCurrentBalance(row.get("balance", Long.class));
+        return user;
+    }
+}
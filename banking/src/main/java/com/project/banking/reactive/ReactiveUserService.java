@@ -0,0 +1,85 @@
+package com.project.banking.reactive;
+
+import com.project.banking.id.UuidV7;
+import com.project.banking.model.LedgerEntry;
+import com.project.banking.model.User;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import java.util.List;
+
+// UserService on R2DBC. Nothing is cached here: reads go to the database, and BankingApplication instances keep
+// serving cached profiles until they expire (banking.cache.users.spec), as for writes from any other instance.
+@Service
+@Profile(ReactiveBankingApplication.PROFILE)
+public class ReactiveUserService {
+    
+    private final ReactiveUserRepository userRepository;
+    private final ReactiveLedgerRepository ledgerRepository;
+    private final TransactionalOperator transactionalOperator;
+    
+    @Autowired
+    public ReactiveUserService(ReactiveUserRepository userRepository, ReactiveLedgerRepository ledgerRepository,
+                               ReactiveTransactionManager transactionManager) {
+        this.userRepository = userRepository;
+        this.ledgerRepository = ledgerRepository;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+    
+    public Flux<User> getAllUsers() {
+        return userRepository.findAll();
+    }
+    
+    public Mono<User> getUserById(String id) {
+        return userRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("User not found with id: " + id)));
+    }
+    
+    public Mono<User> createUser(User user) {
+        // Generate a time-ordered UUID if not provided
+        if (user.getId() == null || user.getId().trim().isEmpty()) {
+            user.setId(UuidV7.next().toString());
+        }
+        
+        // Ensure balance is non-negative
+        if (user.getBalance() < 0) {
+            user.setBalance(0);
+        }
+        
+        // Check if email already exists; a concurrent insert of the same email still fails on the unique index
+        return userRepository.existsByEmail(user.getEmail())
+                .flatMap(exists -> exists
+                        ? Mono.error(new IllegalArgumentException("User with email " + user.getEmail() + " already exists"))
+                        : userRepository.insert(user).thenReturn(user))
+                .as(transactionalOperator::transactional);
+    }
+    
+    // Locked like a debit, so the adjustment is computed against a balance no transfer can change meanwhile
+    public Mono<Void> updateBalance(String userId, long newBalance) {
+        if (newBalance < 0) {
+            return Mono.error(new IllegalArgumentException("Balance cannot be negative"));
+        }
+        return userRepository.findByIdForUpdate(userId)
+                .switchIfEmpty(Mono.error(() -> new EntityNotFoundException("User not found with id: " + userId)))
+                .flatMap(user -> userRepository.findCurrentBalance(userId)
+                        .flatMap(current -> adjust(user, newBalance - current)))
+                .as(transactionalOperator::transactional);
+    }
+    
+    // A single adjustment entry, as LedgerService.adjust
+    private Mono<Void> adjust(User lockedUser, long delta) {
+        if (delta == 0) {
+            return Mono.empty();
+        }
+        return ledgerRepository.nextIdBlock().flatMap(id -> {
+            LedgerEntry adjustment = new LedgerEntry(lockedUser, null, delta);
+            adjustment.setId(id);
+            return ledgerRepository.insertAll(List.of(adjustment));
+        });
+    }
+}
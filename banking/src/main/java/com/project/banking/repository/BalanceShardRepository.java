@@ -0,0 +1,27 @@
+package com.project.banking.repository;
+
+import com.project.banking.model.BalanceShard;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BalanceShardRepository extends JpaRepository<BalanceShard, BalanceShard.Key> {
+    
+    @Query("SELECT COUNT(s) FROM BalanceShard s WHERE s.user.id = :userId")
+    int countByUserId(@Param("userId") String userId);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceShard s WHERE s.user.id = :userId AND s.shard = :shard")
+    Optional<BalanceShard> findForUpdate(@Param("userId") String userId, @Param("shard") int shard);
+    
+    // Locked in shard order, the same order as any other caller locking more than one
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BalanceShard s WHERE s.user.id = :userId ORDER BY s.shard")
+    List<BalanceShard> findAllForUpdate(@Param("userId") String userId);
+}
@@ -0,0 +1,38 @@
+package com.project.banking.repository;
+
+import com.project.banking.model.LedgerEntry;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LedgerEntryRepository extends JpaRepository<LedgerEntry, Long> {
+    
+    @Query("SELECT COALESCE(SUM(e.amount), 0) FROM LedgerEntry e " +
+           "WHERE e.user.id = :userId AND e.compacted = false AND e.shard = :shard")
+    long sumPending(@Param("userId") String userId, @Param("shard") int shard);
+    
+    @Query("SELECT e FROM LedgerEntry e WHERE e.user.id = :userId AND e.compacted = false AND e.shard = :shard " +
+           "ORDER BY e.id")
+    List<LedgerEntry> findPending(@Param("userId") String userId, @Param("shard") int shard, Limit limit);
+    
+    // Rows of [userId, shard, pending entries] for the next `limit` pending entries after the given (user, shard),
+    // in that order. The window is cut before grouping, so a call reads at most `limit` entries of the pending
+    // index (idx_ledger_entries_pending) however large the pending set is; its last group may be counted short.
+    @Query(value = "SELECT w.user_id, w.shard, COUNT(*) FROM (" +
+           "SELECT e.user_id, e.shard FROM ledger_entries e " +
+           "WHERE e.compacted = FALSE AND (e.user_id, e.shard) > (:afterUserId, :afterShard) " +
+           "ORDER BY e.user_id, e.shard LIMIT :limit) w " +
+           "GROUP BY w.user_id, w.shard ORDER BY w.user_id, w.shard", nativeQuery = true)
+    List<Object[]> countPendingAfter(@Param("afterUserId") String afterUserId, @Param("afterShard") int afterShard,
+                                     @Param("limit") int limit);
+    
+    @Modifying
+    @Query("UPDATE LedgerEntry e SET e.compacted = true WHERE e.id IN :ids")
+    int markCompacted(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,19 @@
+package com.project.banking.repository;
+
+import com.project.banking.model.OutboxEvent;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+    
+    // Oldest pending events, locked until the relay's transaction ends. Native because Hibernate only renders
+    // SKIP LOCKED for some dialects; rows another relay is delivering are passed over instead of waited on.
+    // Parked events are left out.
+    @Query(value = "SELECT * FROM outbox_events WHERE parked_at IS NULL ORDER BY id LIMIT :limit " +
+            "FOR UPDATE SKIP LOCKED", nativeQuery = true)
+    List<OutboxEvent> findBatchForDelivery(@Param("limit") int limit);
+}
@@ -1,18 +1,75 @@
 package com.project.banking.repository;
 
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
 import com.project.banking.model.Transaction;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.NativeQuery;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
+// Every listing query here bounds t.timestamp on both sides with plain range predicates, the form PostgreSQL
+// uses to skip whole monthly partitions
 @Repository
 public interface TransactionRepository extends JpaRepository<Transaction, Long> {
     
-    @Query("SELECT t FROM Transaction t JOIN FETCH t.sender JOIN FETCH t.recipient ORDER BY t.timestamp DESC")
-    List<Transaction> findAllWithUsers();
+    // Looked up right after another instance committed it (idempotent replay), so it is read from the primary.
+    // The recipient is written by id only, so it is not fetched.
+    @Transactional
+    @Query("SELECT t FROM Transaction t JOIN FETCH t.sender WHERE t.id = :id")
+    Optional<Transaction> findWithSenderById(@Param("id") Long id);
     
-    @Query("SELECT t FROM Transaction t WHERE t.sender.id = :userId OR t.recipient.id = :userId ORDER BY t.timestamp DESC")
-    List<Transaction> findByUserId(@Param("userId") String userId);
+    // Keyset pages: everything strictly before (beforeTimestamp, beforeId) and at or after fromTimestamp.
+    // The redundant upper bound keeps partitions after beforeTimestamp out of the plan. Rows are projected
+    // straight into views: no User is loaded, so no balance is computed for either party.
+    @Query("SELECT new com.project.banking.dto.TransactionView(t.id, s.id, s.name, r.id, r.name, t.amount, t.timestamp) " +
+           "FROM Transaction t JOIN t.sender s JOIN t.recipient r " +
+           "WHERE t.timestamp >= :fromTimestamp AND t.timestamp <= :beforeTimestamp " +
+           "AND (t.timestamp < :beforeTimestamp OR (t.timestamp = :beforeTimestamp AND t.id < :beforeId)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC")
+    List<TransactionView> findPage(@Param("fromTimestamp") LocalDateTime fromTimestamp,
+                               @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                               @Param("beforeId") long beforeId,
+                               Limit limit);
+    
+    // Two index range scans, one per side, merged by UNION ALL instead of an OR that defeats both indexes. Each side
+    // is cut to the page size on its own, reading the newest rows of its (user, timestamp, id) index backwards and
+    // stopping there, so a page costs the same for a user with a long history. Native: JPQL has no per-branch LIMIT.
+    @NativeQuery(sqlResultSetMapping = Transaction.SUMMARY_MAPPING, value = "SELECT h.id, h.counterparty_id, h.amount_cents, h.direction, h.timestamp FROM (" +
+           "(SELECT t.id, t.recipient_id AS counterparty_id, t.amount_cents, 'SENT' AS direction, t.timestamp " +
+           "FROM transactions t WHERE t.sender_id = :userId " +
+           "AND t.timestamp >= :fromTimestamp AND t.timestamp <= :beforeTimestamp " +
+           "AND (t.timestamp < :beforeTimestamp OR (t.timestamp = :beforeTimestamp AND t.id < :beforeId)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC LIMIT :limit) " +
+           "UNION ALL " +
+           "(SELECT t.id, t.sender_id, t.amount_cents, 'RECEIVED', t.timestamp " +
+           "FROM transactions t WHERE t.recipient_id = :userId " +
+           "AND t.timestamp >= :fromTimestamp AND t.timestamp <= :beforeTimestamp " +
+           "AND (t.timestamp < :beforeTimestamp OR (t.timestamp = :beforeTimestamp AND t.id < :beforeId)) " +
+           "ORDER BY t.timestamp DESC, t.id DESC LIMIT :limit)" +
+           ") h ORDER BY h.timestamp DESC, h.id DESC LIMIT :limit")
+    List<TransactionSummary> findByUserId(@Param("userId") String userId,
+                                          @Param("fromTimestamp") LocalDateTime fromTimestamp,
+                                          @Param("beforeTimestamp") LocalDateTime beforeTimestamp,
+                                          @Param("beforeId") long beforeId,
+                                          @Param("limit") int limit);
+    
+    // Server-side cursor for exports; must be consumed inside a transaction and closed
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t FROM Transaction t WHERE t.timestamp >= :fromTimestamp AND t.timestamp < :toTimestamp ORDER BY t.id")
+    Stream<Transaction> streamByTimestampRange(@Param("fromTimestamp") LocalDateTime fromTimestamp,
+                                               @Param("toTimestamp") LocalDateTime toTimestamp);
 }
@@ -0,0 +1,37 @@
+package com.project.banking.repository;
+
+import com.project.banking.config.CacheConfig;
+import com.project.banking.dto.UserTransactionStats;
+import com.project.banking.model.TransactionStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface TransactionStatsRepository extends JpaRepository<TransactionStats, TransactionStats.Key> {
+    
+    // Compacted totals plus the transfer entries still pending, in one statement so that a compaction committing
+    // in between cannot count entries twice or not at all. Bounded by shards and the compaction threshold, not
+    // by the length of the history. Cached until the next ledger write (LedgerService evicts the region).
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.USER_STATS)
+    })
+    @Query("SELECT new com.project.banking.dto.UserTransactionStats(" +
+           "COALESCE(SUM(h.sentCount), 0), COALESCE(SUM(h.sentAmount), 0), " +
+           "COALESCE(SUM(h.receivedCount), 0), COALESCE(SUM(h.receivedAmount), 0), MAX(h.lastActivityAt)) " +
+           "FROM (" +
+           "SELECT s.sentCount AS sentCount, s.sentAmount AS sentAmount, s.receivedCount AS receivedCount, " +
+           "s.receivedAmount AS receivedAmount, s.lastActivityAt AS lastActivityAt " +
+           "FROM TransactionStats s WHERE s.user.id = :userId " +
+           "UNION ALL " +
+           "SELECT CASE WHEN e.amount < 0 THEN 1L ELSE 0L END, CASE WHEN e.amount < 0 THEN -e.amount ELSE 0L END, " +
+           "CASE WHEN e.amount > 0 THEN 1L ELSE 0L END, CASE WHEN e.amount > 0 THEN e.amount ELSE 0L END, e.createdAt " +
+           "FROM LedgerEntry e WHERE e.user.id = :userId AND e.compacted = false AND e.transactionId IS NOT NULL" +
+           ") h")
+    UserTransactionStats findTotals(@Param("userId") String userId);
+}
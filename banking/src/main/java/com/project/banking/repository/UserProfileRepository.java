@@ -0,0 +1,12 @@
+package com.project.banking.repository;
+
+import com.project.banking.model.UserProfile;
+import org.springframework.data.repository.Repository;
+import java.util.Optional;
+
+// Read-only, so it exposes no save or delete: profiles are created and written as User
+public interface UserProfileRepository extends Repository<UserProfile, String> {
+    
+    // Served from the second-level cache once loaded; unlike existsById, which always runs a query
+    Optional<UserProfile> findById(String id);
+}
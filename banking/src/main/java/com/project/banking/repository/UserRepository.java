@@ -1,19 +1,58 @@
 package com.project.banking.repository;
 
 
+import com.project.banking.config.CacheConfig;
 import com.project.banking.model.User;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
-import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, String> {
     
-    @Modifying
-    @Query("UPDATE User u SET u.balance = :balance WHERE u.id = :userId")
-    int updateUserBalance(@Param("userId") String userId, @Param("balance") double balance);
-    
     boolean existsByEmail(String email);
+    
+    // Rows of [id, email] of the users that already hold one of the ids or emails
+    @Query("SELECT u.id, u.email FROM User u WHERE u.email IN :emails OR u.id IN :ids")
+    List<Object[]> findByEmailOrIdIn(@Param("emails") Collection<String> emails, @Param("ids") Collection<String> ids);
+    
+    // The computed balance (snapshot, shards and pending entries) read in a single statement
+    @Query("SELECT u.balance FROM User u WHERE u.id = :userId")
+    Optional<Long> findCurrentBalance(@Param("userId") String userId);
+    
+    // Rows of [userId, balance]
+    @Query("SELECT u.id, u.balance FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findCurrentBalances(@Param("userIds") Collection<String> userIds);
+    
+    // What a credit needs of its recipient: that it exists and its shard count. Unlike findById this does not
+    // evaluate the balance @Formula, whose sums grow with the account's pending entries and shards. Cached until
+    // Hibernate next writes users; shard rows are only ever added, so a count read before a change stays usable.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = CacheConfig.USER_SHARD_COUNTS)
+    })
+    @Query("SELECT u.balanceShards FROM User u WHERE u.id = :userId")
+    Optional<Integer> findBalanceShards(@Param("userId") String userId);
+    
+    // Rows of [userId, balanceShards]
+    @Query("SELECT u.id, u.balanceShards FROM User u WHERE u.id IN :userIds")
+    List<Object[]> findAllBalanceShards(@Param("userIds") Collection<String> userIds);
+    
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id = :userId")
+    Optional<User> findByIdForUpdate(@Param("userId") String userId);
+    
+    // Rows are locked in id order, so two batches with overlapping senders cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT u FROM User u WHERE u.id IN :userIds ORDER BY u.id")
+    List<User> findAllByIdForUpdate(@Param("userIds") Collection<String> userIds);
 }
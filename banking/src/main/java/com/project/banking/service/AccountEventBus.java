@@ -0,0 +1,295 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.AccountEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// In-process fan-out of account events to SSE subscribers. Publishers only append to each subscriber's bounded
+// buffer (dropping its oldest event when full); sending happens on a few sender threads, one drain per subscriber
+// at a time, so a slow client never holds up a commit. An idle subscriber is its emitter and an empty buffer.
+// Each subscriber has at most one drain queued, so the sender queue is bounded by the number of subscribers.
+// A send blocks while the client's socket buffer is full. One blocked for longer than write-timeout-ms belongs to
+// a client that stopped reading: it is dropped, and the pool gets an extra thread until that send gives up, so
+// stalled clients cannot take the sender threads away from everyone else.
+@Component
+public class AccountEventBus {
+    
+    // Buffered in place of an event; SSE event builders are stateful, so frames are only built when sent
+    private static final Object HEARTBEAT = new Object();
+    
+    // Per user an immutable list, replaced on (un)subscribe, so publishing reads it without locking
+    private final ConcurrentMap<String, List<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final ThreadPoolExecutor senders;
+    private final int senderThreads;
+    // Sender threads blocked in a send to a dropped subscriber; the pool is grown by as many
+    private int stalledSenders;
+    private final int bufferSize;
+    private final long timeoutMs;
+    private final long writeTimeoutNanos;
+    private final Counter droppedEvents;
+    private final Counter stalledSubscribers;
+    
+    @Autowired
+    public AccountEventBus(MeterRegistry meterRegistry,
+                           @Value("${banking.events.sender-threads:4}") int senderThreads,
+                           @Value("${banking.events.buffer-size:32}") int bufferSize,
+                           @Value("${banking.events.timeout-ms:1800000}") long timeoutMs,
+                           @Value("${banking.events.write-timeout-ms:10000}") long writeTimeoutMs) {
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("account-events-"));
+        this.senderThreads = senderThreads;
+        this.bufferSize = bufferSize;
+        this.timeoutMs = timeoutMs;
+        this.writeTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(writeTimeoutMs);
+        Gauge.builder("banking.events.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open account event streams")
+                .register(meterRegistry);
+        this.droppedEvents = Counter.builder("banking.events.dropped")
+                .description("Account events dropped from a full subscriber buffer")
+                .register(meterRegistry);
+        this.stalledSubscribers = Counter.builder("banking.events.stalled")
+                .description("Subscribers dropped because a send to them blocked past the write timeout")
+                .register(meterRegistry);
+    }
+    
+    public SseEmitter subscribe(String userId) {
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+        subscribers.compute(userId, (id, current) -> {
+            List<Subscriber> updated = current == null ? new ArrayList<>(1) : new ArrayList<>(current);
+            updated.add(subscriber);
+            return List.copyOf(updated);
+        });
+        subscriberCount.incrementAndGet();
+        return emitter;
+    }
+    
+    // Lets publishers skip building events nobody listens to
+    public boolean hasSubscribers(String userId) {
+        return subscribers.containsKey(userId);
+    }
+    
+    // Delivered only if the surrounding transaction commits; immediately when there is none
+    public void publishAfterCommit(List<AccountEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            events.forEach(this::publish);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                events.forEach(AccountEventBus.this::publish);
+            }
+        });
+    }
+    
+    private void publish(AccountEvent event) {
+        List<Subscriber> targets = subscribers.get(event.getUserId());
+        if (targets == null) {
+            return;
+        }
+        for (Subscriber subscriber : targets) {
+            subscriber.offer(event);
+        }
+    }
+    
+    // Keeps proxies from closing idle streams and finds clients that went away without closing theirs
+    @Scheduled(fixedDelayString = "${banking.events.heartbeat-ms:15000}",
+               initialDelayString = "${banking.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        for (List<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                subscriber.offerIfIdle(HEARTBEAT);
+            }
+        }
+    }
+    
+    // Drops subscribers whose current send has been blocked for longer than the write timeout
+    @Scheduled(fixedDelayString = "${banking.events.write-timeout-ms:10000}",
+               initialDelayString = "${banking.events.write-timeout-ms:10000}")
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (List<Subscriber> targets : subscribers.values()) {
+            for (Subscriber subscriber : targets) {
+                if (subscriber.markStalled(now)) {
+                    unsubscribe(subscriber);
+                    stalledSubscribers.increment();
+                    resizeSenders(1);
+                }
+            }
+        }
+    }
+    
+    private synchronized void resizeSenders(int delta) {
+        stalledSenders += delta;
+        int size = senderThreads + stalledSenders;
+        if (delta > 0) {
+            senders.setMaximumPoolSize(size);
+            senders.setCorePoolSize(size);
+        } else {
+            senders.setCorePoolSize(size);
+            senders.setMaximumPoolSize(size);
+        }
+    }
+    
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+    }
+    
+    private static SseEmitter.SseEventBuilder toSse(Object event) {
+        if (event == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        AccountEvent accountEvent = (AccountEvent) event;
+        return SseEmitter.event()
+                .name(accountEvent.getType().name().toLowerCase())
+                .data(accountEvent, MediaType.APPLICATION_JSON);
+    }
+    
+    private void unsubscribe(Subscriber subscriber) {
+        boolean[] removed = new boolean[1];
+        subscribers.computeIfPresent(subscriber.userId, (id, current) -> {
+            List<Subscriber> updated = new ArrayList<>(current);
+            removed[0] = updated.remove(subscriber);
+            return updated.isEmpty() ? null : List.copyOf(updated);
+        });
+        if (removed[0]) {
+            subscriberCount.decrementAndGet();
+        }
+    }
+    
+    private final class Subscriber implements Runnable {
+        
+        private final String userId;
+        private final SseEmitter emitter;
+        private final ArrayDeque<Object> buffer = new ArrayDeque<>();
+        
+        // True while a drain task is scheduled or running; guarded by this
+        private boolean draining;
+        
+        // System.nanoTime() when the send in progress started, 0 when none is; guarded by this
+        private long sendStartedAt;
+        
+        // Set once by dropStalledSubscribers; the drain then ends with the blocked send; guarded by this
+        private boolean stalled;
+        
+        private Subscriber(String userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+        
+        private void offer(Object event) {
+            boolean schedule;
+            synchronized (this) {
+                if (buffer.size() >= bufferSize) {
+                    buffer.pollFirst();
+                    droppedEvents.increment();
+                }
+                buffer.addLast(event);
+                schedule = !draining;
+                draining = true;
+            }
+            if (schedule) {
+                submit();
+            }
+        }
+        
+        private void offerIfIdle(Object event) {
+            synchronized (this) {
+                if (draining) {
+                    return;
+                }
+                buffer.addLast(event);
+                draining = true;
+            }
+            submit();
+        }
+        
+        private void submit() {
+            try {
+                senders.execute(this);
+            } catch (RejectedExecutionException e) {
+                // Shutting down: events published from commits still finishing are not delivered
+                synchronized (this) {
+                    draining = false;
+                }
+            }
+        }
+        
+        private synchronized boolean markStalled(long now) {
+            if (stalled || sendStartedAt == 0 || now - sendStartedAt < writeTimeoutNanos) {
+                return false;
+            }
+            stalled = true;
+            return true;
+        }
+        
+        @Override
+        public void run() {
+            while (true) {
+                Object event;
+                synchronized (this) {
+                    event = buffer.pollFirst();
+                    if (event == null) {
+                        draining = false;
+                        return;
+                    }
+                    sendStartedAt = System.nanoTime();
+                }
+                Exception failure = null;
+                try {
+                    emitter.send(toSse(event));
+                } catch (IOException | IllegalStateException e) {
+                    failure = e;
+                }
+                boolean dropped;
+                synchronized (this) {
+                    sendStartedAt = 0;
+                    dropped = stalled;
+                }
+                if (dropped) {
+                    // Already unsubscribed; give back the thread the pool was lent and end the stream
+                    resizeSenders(-1);
+                    emitter.completeWithError(failure != null ? failure : new IOException("Event stream write timed out"));
+                    return;
+                }
+                if (failure != null) {
+                    // Client is gone: stop publishing to it and release its async request
+                    unsubscribe(this);
+                    emitter.completeWithError(failure);
+                    return;
+                }
+            }
+        }
+    }
+}
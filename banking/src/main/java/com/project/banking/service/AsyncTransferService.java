@@ -0,0 +1,201 @@
+package com.project.banking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.banking.dto.AsyncTransferStatus;
+import com.project.banking.dto.BatchTransferResponse;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.exception.TransferQueueFullException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+// Accepts transfers into a bounded in-memory queue and applies them from a single writer thread, many per
+// DB transaction (group commit through TransactionService.createTransactions). Queued transfers live only in
+// this instance's memory: they are drained on a graceful shutdown but lost if the process dies.
+@Service
+public class AsyncTransferService implements SmartLifecycle {
+    
+    private static final Logger log = LoggerFactory.getLogger(AsyncTransferService.class);
+    
+    private final TransactionService transactionService;
+    private final BlockingQueue<QueuedTransfer> queue;
+    private final int maxBatchSize;
+    private final long shutdownTimeoutMs;
+    
+    // Tracking id -> latest status; completed statuses are kept for the retention window
+    private final Cache<String, AsyncTransferStatus> statuses;
+    
+    private final DistributionSummary batchSize;
+    
+    private volatile boolean running;
+    private Thread writer;
+    
+    @Autowired
+    public AsyncTransferService(TransactionService transactionService, MeterRegistry meterRegistry,
+                                @Value("${banking.transfer.async.queue-capacity:65536}") int queueCapacity,
+                                @Value("${banking.transfer.async.max-batch-size:1000}") int maxBatchSize,
+                                @Value("${banking.transfer.async.status-retention-minutes:60}") long statusRetentionMinutes,
+                                @Value("${banking.transfer.async.shutdown-timeout-ms:30000}") long shutdownTimeoutMs) {
+        this.transactionService = transactionService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.maxBatchSize = maxBatchSize;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+        this.statuses = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(statusRetentionMinutes))
+                .build();
+        Gauge.builder("banking.transfer.async.queued", queue, BlockingQueue::size)
+                .description("Transfers accepted but not yet applied")
+                .register(meterRegistry);
+        this.batchSize = DistributionSummary.builder("banking.transfer.async.batch")
+                .description("Transfers applied per group commit")
+                .register(meterRegistry);
+    }
+    
+    // Only checks that need no database access; everything else is reported through the status
+    public AsyncTransferStatus enqueue(TransactionRequest request) {
+        if (isBlank(request.getSenderId()) || isBlank(request.getRecipientId())) {
+            throw new IllegalArgumentException("Sender ID and recipient ID are required");
+        }
+        if (request.getSenderId().equals(request.getRecipientId())) {
+            throw new IllegalArgumentException("Sender and recipient cannot be the same");
+        }
+        if (request.getAmount() <= 0) {
+            throw new IllegalArgumentException("Transaction amount must be greater than 0");
+        }
+        if (!running) {
+            throw new TransferQueueFullException("Async transfers are not being accepted right now");
+        }
+        
+        AsyncTransferStatus status = AsyncTransferStatus.queued(UUID.randomUUID().toString());
+        statuses.put(status.getTrackingId(), status);
+        QueuedTransfer transfer = new QueuedTransfer(status.getTrackingId(), request);
+        if (!queue.offer(transfer)) {
+            statuses.invalidate(status.getTrackingId());
+            throw new TransferQueueFullException("Transfer queue is full, please retry");
+        }
+        // stop() may have run since the check above. If the transfer is still queued it is taken back here;
+        // otherwise the writer or stop() has it and will report its outcome.
+        if (!running && queue.remove(transfer)) {
+            statuses.invalidate(status.getTrackingId());
+            throw new TransferQueueFullException("Async transfers are not being accepted right now");
+        }
+        return status;
+    }
+    
+    public AsyncTransferStatus getStatus(String trackingId) {
+        AsyncTransferStatus status = statuses.getIfPresent(trackingId);
+        if (status == null) {
+            throw new EntityNotFoundException("Transfer not found with tracking id: " + trackingId);
+        }
+        return status;
+    }
+    
+    private void drain() {
+        List<QueuedTransfer> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                QueuedTransfer first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                // Whatever queued up while the previous batch was committing goes into the next one
+                batch.add(first);
+                queue.drainTo(batch, maxBatchSize - 1);
+                apply(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } finally {
+                batch.clear();
+            }
+        }
+        if (!queue.isEmpty()) {
+            log.warn("Async transfer writer stopped with {} transfers still queued", queue.size());
+        }
+    }
+    
+    private void apply(List<QueuedTransfer> batch) {
+        List<TransactionRequest> requests = new ArrayList<>(batch.size());
+        for (QueuedTransfer transfer : batch) {
+            requests.add(transfer.request);
+        }
+        try {
+            BatchTransferResponse response = transactionService.createTransactions(requests);
+            for (int i = 0; i < batch.size(); i++) {
+                String trackingId = batch.get(i).trackingId;
+                statuses.put(trackingId, AsyncTransferStatus.of(trackingId, response.getResults().get(i)));
+            }
+        } catch (RuntimeException e) {
+            // Invalid transfers are rejected per item, so this is the database failing after retries
+            log.error("Async transfer batch of {} failed", batch.size(), e);
+            for (QueuedTransfer transfer : batch) {
+                statuses.put(transfer.trackingId, AsyncTransferStatus.failed(transfer.trackingId, e.getMessage()));
+            }
+        }
+        batchSize.record(batch.size());
+    }
+    
+    @Override
+    public synchronized void start() {
+        running = true;
+        writer = new Thread(this::drain, "async-transfer-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+    
+    // Stops accepting transfers and lets the writer apply what is already queued. Whatever it leaves behind, having
+    // run out of time or raced an enqueue, is reported as failed rather than staying QUEUED forever.
+    @Override
+    public synchronized void stop() {
+        running = false;
+        try {
+            writer.join(shutdownTimeoutMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        if (writer.isAlive()) {
+            writer.interrupt();
+        }
+        List<QueuedTransfer> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        for (QueuedTransfer transfer : remaining) {
+            statuses.put(transfer.trackingId,
+                    AsyncTransferStatus.failed(transfer.trackingId, "Not applied: the service was shutting down"));
+        }
+    }
+    
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+    
+    private static boolean isBlank(String id) {
+        return id == null || id.isBlank();
+    }
+    
+    private static final class QueuedTransfer {
+        
+        private final String trackingId;
+        private final TransactionRequest request;
+        
+        private QueuedTransfer(String trackingId, TransactionRequest request) {
+            this.trackingId = trackingId;
+            this.request = request;
+        }
+    }
+}
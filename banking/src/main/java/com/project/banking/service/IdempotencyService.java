@@ -0,0 +1,143 @@
+package com.project.banking.service;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.project.banking.dto.IdempotentTransferResult;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.IdempotencyKey;
+import com.project.banking.model.Transaction;
+import com.project.banking.repository.IdempotencyKeyRepository;
+import com.project.banking.repository.TransactionRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+// Deduplicates transfer creation by Idempotency-Key: recent keys are answered from memory,
+// older ones from the idempotency_keys table, and concurrent duplicates share a single execution
+@Service
+public class IdempotencyService {
+    
+    public static final int MAX_KEY_LENGTH = 255;
+    
+    private final TransactionService transactionService;
+    private final TransactionRepository transactionRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final Duration retention;
+    
+    // Key -> outcome of the request that owns it; an entry is present from the moment that request starts.
+    // Failed outcomes are dropped by the cache, so a failed request can be retried with the same key. Only the
+    // fingerprint and transaction id are kept; a replay reads the transaction again.
+    private final AsyncCache<String, StoredTransfer> recentKeys;
+    
+    @Autowired
+    public IdempotencyService(TransactionService transactionService, TransactionRepository transactionRepository,
+                              IdempotencyKeyRepository idempotencyKeyRepository,
+                              @Value("${banking.idempotency.cache-size:100000}") long cacheSize,
+                              @Value("${banking.idempotency.retention-hours:24}") long retentionHours) {
+        this.transactionService = transactionService;
+        this.transactionRepository = transactionRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.retention = Duration.ofHours(retentionHours);
+        this.recentKeys = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(retention)
+                .buildAsync();
+    }
+    
+    public IdempotentTransferResult createTransaction(String idempotencyKey, TransactionRequest request) {
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_KEY_LENGTH) {
+            throw new IllegalArgumentException("Idempotency-Key must be between 1 and " + MAX_KEY_LENGTH + " characters");
+        }
+        String fingerprint = fingerprint(request);
+        
+        CompletableFuture<StoredTransfer> owned = new CompletableFuture<>();
+        CompletableFuture<StoredTransfer> existing = recentKeys.asMap().putIfAbsent(idempotencyKey, owned);
+        if (existing != null) {
+            // Either a finished request or one still in flight, in which case this waits for its outcome
+            return replay(await(existing), fingerprint);
+        }
+        
+        StoredTransfer stored;
+        Transaction created = null;
+        try {
+            Optional<StoredTransfer> persisted = findPersisted(idempotencyKey);
+            if (persisted.isPresent()) {
+                stored = persisted.get();
+            } else {
+                try {
+                    created = transactionService.createTransaction(request.getSenderId(),
+                            request.getRecipientId(), request.getAmount(), idempotencyKey, fingerprint);
+                    stored = new StoredTransfer(fingerprint, created.getId());
+                } catch (DataIntegrityViolationException e) {
+                    // Another instance committed the same key while this request waited on the unique index
+                    stored = findPersisted(idempotencyKey).orElseThrow(() -> e);
+                }
+            }
+        } catch (RuntimeException e) {
+            owned.completeExceptionally(e);
+            throw e;
+        }
+        owned.complete(stored);
+        return created != null ? new IdempotentTransferResult(created, false) : replay(stored, fingerprint);
+    }
+    
+    // Keys older than the retention window are no longer deduplicated
+    @Scheduled(fixedDelayString = "${banking.idempotency.purge-interval-ms:3600000}",
+               initialDelayString = "${banking.idempotency.purge-interval-ms:3600000}")
+    @Transactional
+    public int purgeExpiredKeys() {
+        return idempotencyKeyRepository.deleteCreatedBefore(LocalDateTime.now().minus(retention));
+    }
+    
+    private Optional<StoredTransfer> findPersisted(String idempotencyKey) {
+        Optional<IdempotencyKey> key = idempotencyKeyRepository.findById(idempotencyKey);
+        if (key.isEmpty() || key.get().getTransactionId() == null) {
+            return Optional.empty();
+        }
+        return Optional.of(new StoredTransfer(key.get().getRequestFingerprint(), key.get().getTransactionId()));
+    }
+    
+    private IdempotentTransferResult replay(StoredTransfer stored, String fingerprint) {
+        if (!stored.fingerprint.equals(fingerprint)) {
+            throw new IllegalArgumentException("Idempotency-Key was already used for a different transfer");
+        }
+        Transaction transaction = transactionRepository.findWithSenderById(stored.transactionId)
+                .orElseThrow(() -> new EntityNotFoundException("Transaction not found with id: " + stored.transactionId));
+        return new IdempotentTransferResult(transaction, true);
+    }
+    
+    private static StoredTransfer await(CompletableFuture<StoredTransfer> outcome) {
+        try {
+            return outcome.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+    
+    private static String fingerprint(TransactionRequest request) {
+        return request.getSenderId() + '\n' + request.getRecipientId() + '\n' + request.getAmount();
+    }
+    
+    private static final class StoredTransfer {
+        
+        private final String fingerprint;
+        private final long transactionId;
+        
+        private StoredTransfer(String fingerprint, long transactionId) {
+            this.fingerprint = fingerprint;
+            this.transactionId = transactionId;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.project.banking.service;
+
+import com.project.banking.config.CacheConfig;
+import com.project.banking.model.BalanceShard;
+import com.project.banking.model.LedgerEntry;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.TransactionStats;
+import com.project.banking.model.User;
+import com.project.banking.repository.BalanceShardRepository;
+import com.project.banking.repository.LedgerEntryRepository;
+import com.project.banking.repository.TransactionStatsRepository;
+import com.project.banking.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+// Balances are a snapshot (users.balance_cents, plus balance_shards for hot accounts) and the ledger entries
+// posted since the last compaction. Debits are decided on a locked user row; credits never lock the recipient.
+@Service
+@Transactional
+public class LedgerService {
+    
+    private final LedgerEntryRepository ledgerEntryRepository;
+    private final BalanceShardRepository balanceShardRepository;
+    private final TransactionStatsRepository transactionStatsRepository;
+    private final UserRepository userRepository;
+    private final Cache secondLevelCache;
+    
+    @Autowired
+    public LedgerService(LedgerEntryRepository ledgerEntryRepository, BalanceShardRepository balanceShardRepository,
+                         TransactionStatsRepository transactionStatsRepository, UserRepository userRepository,
+                         EntityManagerFactory entityManagerFactory) {
+        this.ledgerEntryRepository = ledgerEntryRepository;
+        this.balanceShardRepository = balanceShardRepository;
+        this.transactionStatsRepository = transactionStatsRepository;
+        this.userRepository = userRepository;
+        this.secondLevelCache = entityManagerFactory.getCache().unwrap(Cache.class);
+    }
+    
+    // The user row must be locked by the caller. The balance is read in one statement issued after the lock
+    // was granted, so it includes every debit committed by whoever held the lock before.
+    public long currentBalance(User lockedUser) {
+        return userRepository.findCurrentBalance(lockedUser.getId()).orElse(0L);
+    }
+    
+    // Balance to check a debit of `amount` against. A hot account's main balance takes every debit and its
+    // credit shards only grow between sweeps, so the main balance is a lower bound: the shards and their
+    // (possibly many) pending credits are only summed when it does not cover the debit on its own. Such a debit
+    // first sweeps the shards' compacted balances into the main balance, so the debits after it take the short
+    // path again instead of the main balance staying short for good.
+    public long availableBalance(User lockedUser, long amount) {
+        if (lockedUser.getBalanceShards() > 0) {
+            long main = lockedUser.getSnapshotBalance() + ledgerEntryRepository.sumPending(lockedUser.getId(), 0);
+            if (main >= amount) {
+                return main;
+            }
+            sweepShards(lockedUser);
+        }
+        return currentBalance(lockedUser);
+    }
+    
+    // Moves every credit shard's compacted balance into the locked user's snapshot. Credits still pending on a
+    // shard stay there until the compactor rolls them up. Shard rows are locked after the user row, while
+    // shard compaction only ever holds its own shard row, so the two cannot deadlock.
+    private void sweepShards(User lockedUser) {
+        long swept = 0;
+        for (BalanceShard shard : balanceShardRepository.findAllForUpdate(lockedUser.getId())) {
+            swept += shard.getBalance();
+            shard.setBalance(0);
+        }
+        if (swept != 0) {
+            lockedUser.setSnapshotBalance(lockedUser.getSnapshotBalance() + swept);
+        }
+    }
+    
+    public Map<String, Long> currentBalances(Collection<User> lockedUsers) {
+        List<String> userIds = new ArrayList<>(lockedUsers.size());
+        for (User user : lockedUsers) {
+            userIds.add(user.getId());
+        }
+        Map<String, Long> balances = new HashMap<>();
+        if (!userIds.isEmpty()) {
+            for (Object[] row : userRepository.findCurrentBalances(userIds)) {
+                balances.put((String) row[0], (Long) row[1]);
+            }
+        }
+        return balances;
+    }
+    
+    // Debit and credit of each transfer; inserted together in the JDBC batch flushed at commit. Recipients may be
+    // uninitialized references, so their shard counts are passed in (UserRepository.findBalanceShards).
+    public void post(List<Transaction> transactions, Map<String, Integer> recipientShards) {
+        List<LedgerEntry> entries = new ArrayList<>(transactions.size() * 2);
+        for (Transaction transaction : transactions) {
+            String recipientId = transaction.getRecipient().getId();
+            entries.add(new LedgerEntry(transaction.getSender(), transaction.getId(), -transaction.getAmount()));
+            entries.add(new LedgerEntry(transaction.getRecipient(), transaction.getId(), transaction.getAmount(),
+                    creditShard(recipientShards.getOrDefault(recipientId, 0), transaction.getId())));
+        }
+        ledgerEntryRepository.saveAll(entries);
+        evictStatsAfterCommit();
+    }
+    
+    public static int creditShard(User recipient, long transactionId) {
+        return creditShard(recipient.getBalanceShards(), transactionId);
+    }
+    
+    // Credits to a hot account are spread over its shards 1..n by a hash of the transaction id
+    public static int creditShard(int shards, long transactionId) {
+        if (shards <= 0) {
+            return 0;
+        }
+        return 1 + Math.floorMod(Long.hashCode(transactionId * 0x9E3779B97F4A7C15L), shards);
+    }
+    
+    // Moves a locked user's balance to newBalance with a single adjustment entry
+    public void adjust(User lockedUser, long newBalance) {
+        long delta = newBalance - currentBalance(lockedUser);
+        if (delta != 0) {
+            ledgerEntryRepository.save(new LedgerEntry(lockedUser, null, delta));
+            evictStatsAfterCommit();
+        }
+        lockedUser.setCurrentBalance(newBalance);
+    }
+    
+    // Cached stats totals read pending entries. Hibernate also drops them when it writes ledger_entries; the
+    // region is cleared explicitly so no result read before this commit outlives it.
+    private void evictStatsAfterCommit() {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                secondLevelCache.evictQueryRegion(CacheConfig.USER_STATS);
+            }
+        });
+    }
+    
+    // Rolls up to maxEntries pending entries of one balance shard into its snapshot, and their transfers into the
+    // shard's transaction_stats row. Shard 0 (the main balance)
+    // is compacted under the same row lock as a debit, so no transfer sees it half-compacted; a hot account's
+    // credit shards only lock their own row and are read together with their entries in a single statement.
+    // Entries that commit concurrently (credits take no lock) are simply not in the list and stay pending.
+    public int compact(String userId, int shard, int maxEntries) {
+        if (shard == 0) {
+            Optional<User> locked = userRepository.findByIdForUpdate(userId);
+            if (locked.isEmpty()) {
+                return 0;
+            }
+            List<LedgerEntry> pending = ledgerEntryRepository.findPending(userId, 0, Limit.of(maxEntries));
+            User user = locked.get();
+            user.setSnapshotBalance(user.getSnapshotBalance() + markCompacted(pending));
+            addToStats(user, 0, pending);
+            return pending.size();
+        }
+        
+        Optional<BalanceShard> locked = balanceShardRepository.findForUpdate(userId, shard);
+        if (locked.isEmpty()) {
+            return 0;
+        }
+        List<LedgerEntry> pending = ledgerEntryRepository.findPending(userId, shard, Limit.of(maxEntries));
+        BalanceShard balanceShard = locked.get();
+        balanceShard.setBalance(balanceShard.getBalance() + markCompacted(pending));
+        addToStats(balanceShard.getUser(), shard, pending);
+        return pending.size();
+    }
+    
+    // The caller holds the shard's lock, so its stats row is neither updated nor created concurrently
+    private void addToStats(User user, int shard, List<LedgerEntry> entries) {
+        TransactionStats stats = null;
+        for (LedgerEntry entry : entries) {
+            if (entry.getTransactionId() == null) {
+                continue;
+            }
+            if (stats == null) {
+                stats = transactionStatsRepository.findById(new TransactionStats.Key(user.getId(), shard))
+                        .orElseGet(() -> transactionStatsRepository.save(new TransactionStats(user, shard)));
+            }
+            stats.add(entry);
+        }
+    }
+    
+    // Returns the sum of the entries
+    private long markCompacted(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return 0;
+        }
+        long sum = 0;
+        List<Long> ids = new ArrayList<>(entries.size());
+        for (LedgerEntry entry : entries) {
+            sum += entry.getAmount();
+            ids.add(entry.getId());
+        }
+        ledgerEntryRepository.markCompacted(ids);
+        return sum;
+    }
+}
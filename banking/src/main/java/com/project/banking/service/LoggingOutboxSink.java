@@ -0,0 +1,19 @@
+package com.project.banking.service;
+
+import com.project.banking.model.OutboxEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import java.util.List;
+
+// Default sink: one log line per event on the banking.outbox logger, which can be routed to its own file
+public class LoggingOutboxSink implements OutboxSink {
+    
+    private static final Logger log = LoggerFactory.getLogger("banking.outbox");
+    
+    @Override
+    public void deliver(List<OutboxEvent> events) {
+        for (OutboxEvent event : events) {
+            log.info("{} {} {} {}", event.getId(), event.getEventType(), event.getAggregateId(), event.getPayload());
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.project.banking.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.dto.TransactionCreatedEvent;
+import com.project.banking.model.OutboxEvent;
+import com.project.banking.model.Transaction;
+import com.project.banking.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// Transactional outbox: events are written by the transaction that creates the data, so a downstream system
+// sees every committed transfer and nothing that rolled back. Delivery is at-least-once (see OutboxRelay).
+@Service
+@Transactional
+public class OutboxService {
+    
+    public static final String TRANSACTION_CREATED = "transaction.created";
+    
+    private static final Logger log = LoggerFactory.getLogger(OutboxService.class);
+    private static final int MAX_ERROR_LENGTH = 1000;
+    
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxSink outboxSink;
+    private final ObjectMapper objectMapper;
+    private final int maxAttempts;
+    private final Counter parkedEvents;
+    
+    @Autowired
+    public OutboxService(OutboxEventRepository outboxEventRepository, OutboxSink outboxSink, ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         @Value("${banking.outbox.relay.max-attempts:5}") int maxAttempts) {
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxSink = outboxSink;
+        this.objectMapper = objectMapper;
+        this.maxAttempts = maxAttempts;
+        this.parkedEvents = Counter.builder("banking.outbox.parked")
+                .description("Outbox events parked after failing max-attempts deliveries on their own")
+                .register(meterRegistry);
+    }
+    
+    // Called inside the transfer's transaction; the rows are inserted with its JDBC batch at commit
+    public void transactionsCreated(List<Transaction> transactions) {
+        List<OutboxEvent> events = new ArrayList<>(transactions.size());
+        for (Transaction transaction : transactions) {
+            events.add(new OutboxEvent(TRANSACTION_CREATED, String.valueOf(transaction.getId()),
+                    toJson(new TransactionCreatedEvent(transaction))));
+        }
+        outboxEventRepository.saveAll(events);
+    }
+    
+    // Locks up to batchSize pending events (skipping those another relay holds), hands them to the sink and
+    // deletes them in one statement. If the sink rejects the batch, the events are retried one by one so a single
+    // bad event cannot hold back the rest: the delivered ones are deleted and each rejected one counts an attempt,
+    // parked at maxAttempts. If none goes through the sink itself is down, so the failure is rethrown and the
+    // batch rolls back untouched rather than charging every event an attempt for the outage.
+    public List<OutboxEvent> relayBatch(int batchSize) {
+        List<OutboxEvent> events = outboxEventRepository.findBatchForDelivery(batchSize);
+        if (events.isEmpty()) {
+            return events;
+        }
+        try {
+            outboxSink.deliver(events);
+        } catch (RuntimeException batchFailure) {
+            return relayEachEvent(events, batchFailure);
+        }
+        outboxEventRepository.deleteAllInBatch(events);
+        return events;
+    }
+    
+    private List<OutboxEvent> relayEachEvent(List<OutboxEvent> events, RuntimeException batchFailure) {
+        List<OutboxEvent> delivered = new ArrayList<>(events.size());
+        List<OutboxEvent> rejected = new ArrayList<>();
+        List<RuntimeException> errors = new ArrayList<>();
+        for (OutboxEvent event : events) {
+            try {
+                outboxSink.deliver(List.of(event));
+                delivered.add(event);
+            } catch (RuntimeException e) {
+                rejected.add(event);
+                errors.add(e);
+            }
+        }
+        if (delivered.isEmpty()) {
+            throw batchFailure;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < rejected.size(); i++) {
+            recordFailedAttempt(rejected.get(i), errors.get(i), now);
+        }
+        outboxEventRepository.deleteAllInBatch(delivered);
+        return delivered;
+    }
+    
+    // The entity is managed, so the new attempt count is written when the relay's transaction commits
+    private void recordFailedAttempt(OutboxEvent event, RuntimeException error, LocalDateTime now) {
+        String message = String.valueOf(error);
+        event.setAttempts(event.getAttempts() + 1);
+        event.setLastError(message.length() > MAX_ERROR_LENGTH ? message.substring(0, MAX_ERROR_LENGTH) : message);
+        if (event.getAttempts() >= maxAttempts) {
+            event.setParkedAt(now);
+            parkedEvents.increment();
+            log.warn("Parked outbox event {} ({} {}) after {} failed deliveries: {}", event.getId(),
+                    event.getEventType(), event.getAggregateId(), event.getAttempts(), message);
+        }
+    }
+    
+    private String toJson(Object payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize outbox payload", e);
+        }
+    }
+}
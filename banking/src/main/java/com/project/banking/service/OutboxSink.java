@@ -0,0 +1,13 @@
+package com.project.banking.service;
+
+import com.project.banking.model.OutboxEvent;
+import java.util.List;
+
+// Destination of outbox events (message broker, webhook, ...). A batch counts as delivered when deliver returns;
+// after a throw its events are offered again one at a time (see OutboxService.relayBatch), so sinks and consumers
+// must tolerate duplicates (the event id is stable across attempts). Sinks should not join the relay's
+// transaction: an exception from a transactional sink would mark it rollback-only.
+public interface OutboxSink {
+    
+    void deliver(List<OutboxEvent> events);
+}
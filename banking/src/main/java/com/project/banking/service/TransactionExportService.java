@@ -0,0 +1,79 @@
+package com.project.banking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.model.Transaction;
+import com.project.banking.money.Money;
+import com.project.banking.repository.TransactionRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+@Service
+public class TransactionExportService {
+    
+    // Matches the repository fetch size: the persistence context never holds more than one batch
+    private static final int FLUSH_INTERVAL = 1000;
+    
+    private final TransactionRepository transactionRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+    
+    @Autowired
+    public TransactionExportService(TransactionRepository transactionRepository, EntityManager entityManager,
+                                    ObjectMapper objectMapper) {
+        this.transactionRepository = transactionRepository;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
+    }
+    
+    // Writes one JSON object per line straight to the output stream and returns the row count
+    @Transactional(readOnly = true)
+    public long exportNdjson(LocalDateTime from, LocalDateTime to, OutputStream out) {
+        long rows = 0;
+        try (Stream<Transaction> transactions = transactionRepository.streamByTimestampRange(
+                     from != null ? from : TransactionService.EARLIEST, to != null ? to : TransactionService.LATEST);
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            
+            char[] amountBuffer = new char[21];
+            Iterator<Transaction> iterator = transactions.iterator();
+            while (iterator.hasNext()) {
+                writeRow(generator, iterator.next(), amountBuffer);
+                rows++;
+                
+                if (rows % FLUSH_INTERVAL == 0) {
+                    generator.flush();
+                    entityManager.clear();
+                }
+            }
+            generator.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Transaction export failed after " + rows + " rows", e);
+        }
+        return rows;
+    }
+    
+    private void writeRow(JsonGenerator generator, Transaction transaction, char[] amountBuffer) throws IOException {
+        generator.writeStartObject();
+        generator.writeNumberField("id", transaction.getId());
+        // Reading the id of a lazy proxy does not initialize it, so no User rows are loaded
+        generator.writeStringField("senderId", transaction.getSender().getId());
+        generator.writeStringField("recipientId", transaction.getRecipient().getId());
+        generator.writeFieldName("amount");
+        int length = Money.format(transaction.getAmount(), amountBuffer);
+        generator.writeNumber(amountBuffer, 0, length);
+        generator.writeStringField("timestamp", transaction.getTimestamp().toString());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+}
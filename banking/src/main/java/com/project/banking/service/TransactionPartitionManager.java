@@ -0,0 +1,189 @@
+package com.project.banking.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Owns the monthly partitions of transactions (PostgreSQL only, see R__partition_transactions.sql): keeps
+// premake-months partitions ready ahead of the current month and, with a retention, detaches partitions whose
+// whole range is older than retention-months. Detached partitions stay in the database as plain tables to be
+// archived (pg_dump) and dropped by hand, unless drop-detached is set. Runs at startup and then daily.
+@Component
+@ConditionalOnProperty(name = "banking.transactions.partitioning.enabled", havingValue = "true")
+public class TransactionPartitionManager {
+    
+    private static final Logger log = LoggerFactory.getLogger(TransactionPartitionManager.class);
+    
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'transactions_p'yyyy_MM");
+    
+    // Range bounds as printed by pg_get_expr, e.g. FOR VALUES FROM (MINVALUE) TO ('2026-11-01 00:00:00')
+    private static final Pattern RANGE_BOUNDS = Pattern.compile("FOR VALUES FROM \\((.+)\\) TO \\((.+)\\)");
+    
+    // Serializes maintenance across instances; any constant the application does not use elsewhere
+    private static final long MAINTENANCE_LOCK = 0x7472616e73L;
+    
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final int premakeMonths;
+    private final int retentionMonths;
+    private final boolean dropDetached;
+    private final Counter createdPartitions;
+    private final Counter detachedPartitions;
+    private final Counter failures;
+    
+    @Autowired
+    public TransactionPartitionManager(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${banking.transactions.partitioning.premake-months:3}") int premakeMonths,
+                                       @Value("${banking.transactions.partitioning.retention-months:0}") int retentionMonths,
+                                       @Value("${banking.transactions.partitioning.drop-detached:false}") boolean dropDetached) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.premakeMonths = premakeMonths;
+        this.retentionMonths = retentionMonths;
+        this.dropDetached = dropDetached;
+        this.createdPartitions = Counter.builder("banking.transactions.partitions.created")
+                .description("Monthly transactions partitions created ahead of time")
+                .register(meterRegistry);
+        this.detachedPartitions = Counter.builder("banking.transactions.partitions.detached")
+                .description("Transactions partitions detached by the retention policy")
+                .register(meterRegistry);
+        this.failures = Counter.builder("banking.transactions.partitions.failures")
+                .description("Partition maintenance runs that failed")
+                .register(meterRegistry);
+    }
+    
+    // A failed run is logged and retried the next day; premake-months leaves that much slack before
+    // new transactions would land in the default partition
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${banking.transactions.partitioning.cron:0 15 3 * * *}")
+    public void maintain() {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        try {
+            inMaintenanceLock(() -> createPartitions(currentMonth));
+            if (retentionMonths > 0) {
+                inMaintenanceLock(() -> applyRetention(currentMonth));
+            }
+        } catch (DataAccessException e) {
+            failures.increment();
+            log.error("Transactions partition maintenance failed", e);
+        }
+    }
+    
+    private void createPartitions(LocalDate currentMonth) {
+        for (LocalDate month : monthsToCreate(findPartitions(), currentMonth, premakeMonths)) {
+            String name = month.format(PARTITION_NAME);
+            jdbcTemplate.execute(String.format(
+                    "CREATE TABLE %s PARTITION OF transactions FOR VALUES FROM ('%s') TO ('%s')",
+                    name, month.atStartOfDay(), month.plusMonths(1).atStartOfDay()));
+            createdPartitions.increment();
+            log.info("Created transactions partition {}", name);
+        }
+    }
+    
+    private void applyRetention(LocalDate currentMonth) {
+        for (Partition partition : partitionsToDetach(findPartitions(), currentMonth, retentionMonths)) {
+            jdbcTemplate.execute("ALTER TABLE transactions DETACH PARTITION " + partition.name);
+            if (dropDetached) {
+                jdbcTemplate.execute("DROP TABLE " + partition.name);
+            }
+            detachedPartitions.increment();
+            log.info("Detached transactions partition {} (before {}){}", partition.name, partition.to,
+                    dropDetached ? " and dropped it" : "");
+        }
+    }
+    
+    private void inMaintenanceLock(Runnable work) {
+        transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.execute("SELECT pg_advisory_xact_lock(" + MAINTENANCE_LOCK + ")");
+            work.run();
+        });
+    }
+    
+    // The default partition has no range and is never created or detached here
+    private List<Partition> findPartitions() {
+        List<Partition> partitions = new ArrayList<>();
+        jdbcTemplate.query(
+                "SELECT c.relname, pg_get_expr(c.relpartbound, c.oid) FROM pg_inherits i " +
+                "JOIN pg_class c ON c.oid = i.inhrelid WHERE i.inhparent = 'transactions'::regclass",
+                rs -> {
+                    Partition partition = Partition.parse(rs.getString(1), rs.getString(2));
+                    if (partition != null) {
+                        partitions.add(partition);
+                    }
+                });
+        return partitions;
+    }
+    
+    // Months from the current one up to premakeMonths ahead that no partition covers yet
+    static List<LocalDate> monthsToCreate(List<Partition> partitions, LocalDate currentMonth, int premakeMonths) {
+        List<LocalDate> months = new ArrayList<>();
+        for (int i = 0; i <= premakeMonths; i++) {
+            LocalDateTime start = currentMonth.plusMonths(i).atStartOfDay();
+            if (partitions.stream().noneMatch(p -> p.contains(start))) {
+                months.add(start.toLocalDate());
+            }
+        }
+        return months;
+    }
+    
+    // Partitions ending at or before the start of the month retentionMonths back, i.e. holding nothing newer
+    static List<Partition> partitionsToDetach(List<Partition> partitions, LocalDate currentMonth, int retentionMonths) {
+        LocalDateTime cutoff = currentMonth.minusMonths(retentionMonths).atStartOfDay();
+        return partitions.stream()
+                .filter(p -> p.to != null && !p.to.isAfter(cutoff))
+                .toList();
+    }
+    
+    static final class Partition {
+        
+        final String name;
+        // Null for MINVALUE / MAXVALUE
+        final LocalDateTime from;
+        final LocalDateTime to;
+        
+        Partition(String name, LocalDateTime from, LocalDateTime to) {
+            this.name = name;
+            this.from = from;
+            this.to = to;
+        }
+        
+        static Partition parse(String name, String bounds) {
+            Matcher matcher = RANGE_BOUNDS.matcher(bounds);
+            if (!matcher.matches()) {
+                return null;
+            }
+            return new Partition(name, parseBound(matcher.group(1)), parseBound(matcher.group(2)));
+        }
+        
+        private static LocalDateTime parseBound(String bound) {
+            if (bound.equals("MINVALUE") || bound.equals("MAXVALUE")) {
+                return null;
+            }
+            return LocalDateTime.parse(bound.substring(1, bound.length() - 1).replace(' ', 'T'));
+        }
+        
+        boolean contains(LocalDateTime timestamp) {
+            return (from == null || !from.isAfter(timestamp)) && (to == null || to.isAfter(timestamp));
+        }
+    }
+}
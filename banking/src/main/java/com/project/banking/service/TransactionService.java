@@ -1,40 +1,133 @@
 package com.project.banking.service;
 
+import com.project.banking.config.CacheConfig;
+import com.project.banking.dto.AccountEvent;
+import com.project.banking.dto.BatchTransferResponse;
+import com.project.banking.dto.BatchTransferResult;
+import com.project.banking.dto.TransactionCursor;
+import com.project.banking.dto.TransactionDirection;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.exception.InsufficientBalanceException;
+import com.project.banking.model.IdempotencyKey;
 import com.project.banking.model.Transaction;
+import com.project.banking.money.Money;
 import com.project.banking.model.User;
+import com.project.banking.repository.IdempotencyKeyRepository;
 import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserProfileRepository;
 import com.project.banking.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 @Service
 @Transactional
 public class TransactionService {
     
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+    
+    // Open bounds used when the client gives no time range
+    public static final LocalDateTime EARLIEST = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    
     private final TransactionRepository transactionRepository;
     private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final IdempotencyKeyRepository idempotencyKeyRepository;
+    private final LedgerService ledgerService;
+    private final AccountEventBus accountEventBus;
+    private final OutboxService outboxService;
+    private final Cache userCache;
+    private final int maxBatchSize;
+    
+    // Per-attempt transfer timings. The INSERTs are only queued during insert; they reach the database in the
+    // JDBC batch flushed at commit, so their SQL time shows up under commit.
+    private final Timer validationTimer;
+    private final Timer idempotencyKeyTimer;
+    private final Timer lockWaitTimer;
+    private final Timer balanceUpdateTimer;
+    private final Timer insertTimer;
+    private final Timer commitTimer;
+    private final Timer committedTimer;
+    private final Timer rolledBackTimer;
     
     @Autowired
-    public TransactionService(TransactionRepository transactionRepository, UserRepository userRepository) {
+    public TransactionService(TransactionRepository transactionRepository, UserRepository userRepository,
+                              UserProfileRepository userProfileRepository, IdempotencyKeyRepository idempotencyKeyRepository, LedgerService ledgerService,
+                              AccountEventBus accountEventBus, OutboxService outboxService,
+                              CacheManager cacheManager, MeterRegistry meterRegistry,
+                              @Value("${banking.transfer.batch.max-size:10000}") int maxBatchSize) {
         this.transactionRepository = transactionRepository;
         this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.idempotencyKeyRepository = idempotencyKeyRepository;
+        this.ledgerService = ledgerService;
+        this.accountEventBus = accountEventBus;
+        this.outboxService = outboxService;
+        this.userCache = cacheManager.getCache(CacheConfig.USERS);
+        this.maxBatchSize = maxBatchSize;
+        this.validationTimer = phaseTimer(meterRegistry, "validation");
+        this.idempotencyKeyTimer = phaseTimer(meterRegistry, "idempotency_key");
+        this.lockWaitTimer = phaseTimer(meterRegistry, "lock_wait");
+        this.balanceUpdateTimer = phaseTimer(meterRegistry, "balance_update");
+        this.insertTimer = phaseTimer(meterRegistry, "insert");
+        this.commitTimer = phaseTimer(meterRegistry, "commit");
+        this.committedTimer = Timer.builder("banking.transfer")
+                .description("Transfer attempt from validation to commit")
+                .tag("outcome", "committed")
+                .register(meterRegistry);
+        this.rolledBackTimer = Timer.builder("banking.transfer")
+                .description("Transfer attempt from validation to commit")
+                .tag("outcome", "rolled_back")
+                .register(meterRegistry);
     }
     
-    @Transactional(readOnly = true)
-    public List<Transaction> getAllTransactions() {
-        return transactionRepository.findAllWithUsers();
+    private static Timer phaseTimer(MeterRegistry meterRegistry, String phase) {
+        return Timer.builder("banking.transfer.phase")
+                .description("Time spent in one phase of a transfer attempt")
+                .tag("phase", phase)
+                .register(meterRegistry);
     }
     
-    public Transaction createTransaction(String senderId, String recipientId, double amount) {
-        // Validation: Check if sender and recipient exist
-        User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new EntityNotFoundException("Sender not found with id: " + senderId));
-        
-        User recipient = userRepository.findById(recipientId)
-                .orElseThrow(() -> new EntityNotFoundException("Recipient not found with id: " + recipientId));
+    @TransferRetry
+    public Transaction createTransaction(String senderId, String recipientId, long amount) {
+        return transfer(senderId, recipientId, amount, null);
+    }
+    
+    // Records the idempotency key in the same DB transaction as the transfer. The key row is flushed
+    // before any account is locked: a duplicate running elsewhere waits on the unique index and fails
+    // once this transaction commits, without having touched a balance.
+    @TransferRetry
+    public Transaction createTransaction(String senderId, String recipientId, long amount,
+                                         String idempotencyKey, String requestFingerprint) {
+        return transfer(senderId, recipientId, amount, new IdempotencyKey(idempotencyKey, requestFingerprint));
+    }
+    
+    private Transaction transfer(String senderId, String recipientId, long amount, IdempotencyKey idempotencyKey) {
+        long started = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransferTiming(started));
         
         // Validation: Check if sender and recipient are different
         if (senderId.equals(recipientId)) {
@@ -45,35 +138,281 @@ public class TransactionService {
         if (amount <= 0) {
             throw new IllegalArgumentException("Transaction amount must be greater than 0");
         }
+        long mark = record(validationTimer, started);
+        
+        if (idempotencyKey != null) {
+            idempotencyKeyRepository.saveAndFlush(idempotencyKey);
+            mark = record(idempotencyKeyTimer, mark);
+        }
+        
+        // Only the sender is locked: debits of one account are serialized, credits never wait on the recipient.
+        // The recipient is not loaded either: its computed balance costs a sum over its pending entries, and only
+        // a subscribed dashboard needs it (read before the credit is posted).
+        User sender = lockSender(senderId);
+        int recipientShards = userRepository.findBalanceShards(recipientId)
+                .orElseThrow(() -> new EntityNotFoundException("Recipient not found with id: " + recipientId));
+        User recipient = userRepository.getReferenceById(recipientId);
+        Long recipientBalance = accountEventBus.hasSubscribers(recipientId)
+                ? userRepository.findCurrentBalance(recipientId).orElse(0L) : null;
+        mark = record(lockWaitTimer, mark);
+        
+        // Validation: Check sender balance (row is locked, so no other debit can change it before commit)
+        long available = ledgerService.availableBalance(sender, amount);
+        if (available < amount) {
+            throw new InsufficientBalanceException("Insufficient balance. Available: " + Money.format(available)
+                    + ", Required: " + Money.format(amount));
+        }
+        
+        // Cached profiles carry the balance; evictions are applied once this transaction commits
+        userCache.evict(senderId);
+        userCache.evict(recipientId);
+        mark = record(balanceUpdateTimer, mark);
+        
+        // Create and save transaction with its debit and credit postings and its outbox event; no user row is updated
+        Transaction transaction = transactionRepository.save(new Transaction(sender, recipient, amount));
+        ledgerService.post(List.of(transaction), Map.of(recipientId, recipientShards));
+        outboxService.transactionsCreated(List.of(transaction));
+        // For a hot sender `available` may be its main balance only; keep the total loaded with the lock instead
+        sender.setCurrentBalance((sender.getBalanceShards() > 0 ? sender.getBalance() : available) - amount);
+        List<AccountEvent> events = new ArrayList<>(2);
+        addTransferEvents(transaction, sender.getBalance(), recipientBalance != null ? recipientBalance + amount : null,
+                events);
+        accountEventBus.publishAfterCommit(events);
+        if (idempotencyKey != null) {
+            idempotencyKey.setTransactionId(transaction.getId());
+        }
+        record(insertTimer, mark);
+        return transaction;
+    }
+    
+    private static long record(Timer timer, long since) {
+        long now = System.nanoTime();
+        timer.record(now - since, TimeUnit.NANOSECONDS);
+        return now;
+    }
+    
+    // Commit (including the flush of queued writes) and the whole attempt are only known once the transaction ends
+    private final class TransferTiming implements TransactionSynchronization {
+        
+        private final long started;
+        private long commitStarted;
+        
+        private TransferTiming(long started) {
+            this.started = started;
+        }
+        
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            commitStarted = System.nanoTime();
+        }
+        
+        @Override
+        public void afterCompletion(int status) {
+            long now = System.nanoTime();
+            if (status == STATUS_COMMITTED) {
+                commitTimer.record(now - commitStarted, TimeUnit.NANOSECONDS);
+                committedTimer.record(now - started, TimeUnit.NANOSECONDS);
+            } else {
+                rolledBackTimer.record(now - started, TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+    
+    // Applies many transfers in one DB transaction: one locking select for all senders, then batched writes
+    @TransferRetry
+    public BatchTransferResponse createTransactions(List<TransactionRequest> requests) {
+        if (requests == null || requests.isEmpty()) {
+            throw new IllegalArgumentException("Batch must contain at least one transfer");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + requests.size() + " exceeds the maximum of " + maxBatchSize);
+        }
+        
+        // Senders are locked (in id order) and their balances loaded; recipients that send nothing are only
+        // referenced, with their shard counts read, and their balances only for subscribed dashboards
+        Set<String> senderIds = new HashSet<>();
+        Set<String> recipientIds = new HashSet<>();
+        for (TransactionRequest request : requests) {
+            if (request != null && request.getSenderId() != null && request.getRecipientId() != null) {
+                senderIds.add(request.getSenderId());
+                recipientIds.add(request.getRecipientId());
+            }
+        }
+        recipientIds.removeAll(senderIds);
+        Map<String, User> users = new HashMap<>();
+        Map<String, Integer> shards = new HashMap<>();
+        List<User> senders = userRepository.findAllByIdForUpdate(senderIds);
+        for (User user : senders) {
+            users.put(user.getId(), user);
+            shards.put(user.getId(), user.getBalanceShards());
+        }
+        List<String> subscribedRecipientIds = new ArrayList<>();
+        if (!recipientIds.isEmpty()) {
+            for (Object[] row : userRepository.findAllBalanceShards(recipientIds)) {
+                String recipientId = (String) row[0];
+                users.put(recipientId, userRepository.getReferenceById(recipientId));
+                shards.put(recipientId, (Integer) row[1]);
+                if (accountEventBus.hasSubscribers(recipientId)) {
+                    subscribedRecipientIds.add(recipientId);
+                }
+            }
+        }
+        Map<String, Long> balances = ledgerService.currentBalances(senders);
+        Map<String, Long> openingBalances = new HashMap<>(balances);
+        if (!subscribedRecipientIds.isEmpty()) {
+            for (Object[] row : userRepository.findCurrentBalances(subscribedRecipientIds)) {
+                openingBalances.put((String) row[0], (Long) row[1]);
+            }
+        }
         
-        // Validation: Check sender balance
-        if (sender.getBalance() < amount) {
-            throw new IllegalArgumentException("Insufficient balance. Available: " + sender.getBalance() + ", Required: " + amount);
+        // Transfers are applied in request order, so each one sees the balances left by the ones before it
+        List<BatchTransferResult> results = new ArrayList<>(requests.size());
+        List<Transaction> transactions = new ArrayList<>(requests.size());
+        List<Integer> appliedIndexes = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String error = applyTransfer(requests.get(i), users, balances, transactions);
+            if (error == null) {
+                appliedIndexes.add(i);
+                results.add(null);
+            } else {
+                results.add(BatchTransferResult.rejected(i, error));
+            }
         }
         
-        // Atomic balance updates
-        double newSenderBalance = sender.getBalance() - amount;
-        double newRecipientBalance = recipient.getBalance() + amount;
+        // Cached profiles carry the balance; evictions are applied once this transaction commits
+        users.keySet().forEach(userCache::evict);
         
-        sender.setBalance(newSenderBalance);
-        recipient.setBalance(newRecipientBalance);
+        // Transactions, their postings and outbox events are inserted in JDBC batches on commit
+        List<Transaction> saved = transactionRepository.saveAll(transactions);
+        ledgerService.post(saved, shards);
+        outboxService.transactionsCreated(saved);
+        for (int j = 0; j < saved.size(); j++) {
+            int index = appliedIndexes.get(j);
+            results.set(index, BatchTransferResult.applied(index, saved.get(j).getId()));
+        }
+        publishBatch(saved, openingBalances);
+        return new BatchTransferResponse(results);
+    }
+    
+    // Replays the batch in order so each event carries the balance right after its transfer
+    private void publishBatch(List<Transaction> saved, Map<String, Long> openingBalances) {
+        Map<String, Long> running = new HashMap<>(openingBalances);
+        List<AccountEvent> events = new ArrayList<>();
+        for (Transaction transaction : saved) {
+            long senderBalance = running.merge(transaction.getSender().getId(), -transaction.getAmount(), Long::sum);
+            // Accounts that only receive start from the balance read with the batch, if they had subscribers then
+            Long recipientBalance = running.computeIfPresent(transaction.getRecipient().getId(),
+                    (id, balance) -> balance + transaction.getAmount());
+            addTransferEvents(transaction, senderBalance, recipientBalance, events);
+        }
+        accountEventBus.publishAfterCommit(events);
+    }
+    
+    // Subscribed dashboards of either account get the transfer once it commits. The sender's balance is exact
+    // (its row is locked); a recipient's comes from an unlocked read and can miss a credit committed meanwhile.
+    // It is null when the recipient had no subscribers at that read, and then no recipient event is sent.
+    private void addTransferEvents(Transaction transaction, long senderBalance, Long recipientBalance,
+                                   List<AccountEvent> events) {
+        String senderId = transaction.getSender().getId();
+        String recipientId = transaction.getRecipient().getId();
+        if (accountEventBus.hasSubscribers(senderId)) {
+            events.add(AccountEvent.transaction(senderId, senderBalance, new TransactionSummary(transaction.getId(),
+                    recipientId, transaction.getAmount(), TransactionDirection.SENT, transaction.getTimestamp())));
+        }
+        if (recipientBalance != null && accountEventBus.hasSubscribers(recipientId)) {
+            events.add(AccountEvent.transaction(recipientId, recipientBalance, new TransactionSummary(transaction.getId(),
+                    senderId, transaction.getAmount(), TransactionDirection.RECEIVED, transaction.getTimestamp())));
+        }
+    }
+    
+    private String applyTransfer(TransactionRequest request, Map<String, User> users, Map<String, Long> balances,
+                                 List<Transaction> transactions) {
+        if (request == null || request.getSenderId() == null || request.getRecipientId() == null) {
+            return "Sender ID and recipient ID are required";
+        }
+        if (request.getSenderId().equals(request.getRecipientId())) {
+            return "Sender and recipient cannot be the same";
+        }
+        if (request.getAmount() <= 0) {
+            return "Transaction amount must be greater than 0";
+        }
         
-        // Save updated balances
-        userRepository.save(sender);
-        userRepository.save(recipient);
+        User sender = users.get(request.getSenderId());
+        if (sender == null) {
+            return "Sender not found with id: " + request.getSenderId();
+        }
+        User recipient = users.get(request.getRecipientId());
+        if (recipient == null) {
+            return "Recipient not found with id: " + request.getRecipientId();
+        }
+        long available = balances.get(sender.getId());
+        if (available < request.getAmount()) {
+            return "Insufficient balance. Available: " + Money.format(available)
+                    + ", Required: " + Money.format(request.getAmount());
+        }
         
-        // Create and save transaction
-        Transaction transaction = new Transaction(sender, recipient, amount);
-        return transactionRepository.save(transaction);
+        // Only senders have a tracked balance; a credit to one counts towards its later debits in this batch
+        balances.put(sender.getId(), available - request.getAmount());
+        balances.computeIfPresent(recipient.getId(), (id, balance) -> balance + request.getAmount());
+        transactions.add(new Transaction(sender, recipient, request.getAmount()));
+        return null;
+    }
+    
+    private User lockSender(String senderId) {
+        return userRepository.findByIdForUpdate(senderId)
+                .orElseThrow(() -> new EntityNotFoundException("Sender not found with id: " + senderId));
     }
     
     @Transactional(readOnly = true)
-    public List<Transaction> getTransactionsByUserId(String userId) {
-        // Verify user exists
-        if (!userRepository.existsById(userId)) {
+    public TransactionPage<TransactionView> getTransactionPage(String cursor, int size, LocalDateTime from,
+                                                               LocalDateTime to) {
+        int pageSize = validatePageSize(size);
+        TransactionCursor position = startPosition(cursor, to);
+        List<TransactionView> rows = transactionRepository.findPage(
+                from != null ? from : EARLIEST, position.getTimestamp(), position.getId(), Limit.of(pageSize + 1));
+        return toPage(rows, pageSize, t -> new TransactionCursor(t.getTimestamp(), t.getId()));
+    }
+    
+    @Transactional(readOnly = true)
+    public TransactionPage<TransactionSummary> getTransactionPageByUserId(String userId, String cursor, int size,
+                                                                          LocalDateTime from, LocalDateTime to) {
+        int pageSize = validatePageSize(size);
+        
+        // Verify user exists; with its profile and the page cached, a repeated call runs no SQL
+        if (userProfileRepository.findById(userId).isEmpty()) {
             throw new EntityNotFoundException("User not found with id: " + userId);
         }
         
-        return transactionRepository.findByUserId(userId);
+        TransactionCursor position = startPosition(cursor, to);
+        List<TransactionSummary> rows = transactionRepository.findByUserId(
+                userId, from != null ? from : EARLIEST, position.getTimestamp(), position.getId(), pageSize + 1);
+        return toPage(rows, pageSize, t -> new TransactionCursor(t.getTimestamp(), t.getId()));
+    }
+    
+    // Page helpers are shared with the reactive stack (com.project.banking.reactive)
+    public static int validatePageSize(int size) {
+        if (size < 1 || size > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("Page size must be between 1 and " + MAX_PAGE_SIZE);
+        }
+        return size;
+    }
+    
+    // Pages start just below the cursor, or at the exclusive upper time bound when there is none
+    public static TransactionCursor startPosition(String cursor, LocalDateTime to) {
+        TransactionCursor upper = new TransactionCursor(to != null ? to : LATEST, Long.MIN_VALUE);
+        if (cursor == null || cursor.isBlank()) {
+            return upper;
+        }
+        TransactionCursor decoded = TransactionCursor.decode(cursor);
+        return decoded.getTimestamp().isBefore(upper.getTimestamp()) ? decoded : upper;
+    }
+    
+    // One extra row is fetched to learn whether another page exists without a count query
+    public static <T> TransactionPage<T> toPage(List<T> rows, int pageSize, Function<T, TransactionCursor> position) {
+        if (rows.size() <= pageSize) {
+            return new TransactionPage<>(rows, null);
+        }
+        List<T> items = rows.subList(0, pageSize);
+        return new TransactionPage<>(items, position.apply(items.get(pageSize - 1)).encode());
     }
 }
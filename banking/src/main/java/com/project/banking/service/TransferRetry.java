@@ -0,0 +1,23 @@
+package com.project.banking.service;
+
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.retry.annotation.Backoff;
+import org.springframework.retry.annotation.Retryable;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Re-runs a transfer whose transaction lost a lock race (deadlock, lock timeout, serialization failure)
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Retryable(
+        retryFor = ConcurrencyFailureException.class,
+        maxAttemptsExpression = "${banking.transfer.retry.max-attempts:5}",
+        backoff = @Backoff(
+                delayExpression = "${banking.transfer.retry.initial-backoff-ms:10}",
+                maxDelayExpression = "${banking.transfer.retry.max-backoff-ms:200}",
+                multiplier = 2.0,
+                random = true))
+@interface TransferRetry {
+}
@@ -0,0 +1,239 @@
+package com.project.banking.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.MinimalPrettyPrinter;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.project.banking.dto.UserImportResult;
+import com.project.banking.id.UuidV7;
+import com.project.banking.model.User;
+import com.project.banking.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+// Bulk onboarding: users are read as NDJSON and created chunk by chunk, each chunk with one uniqueness query,
+// one JDBC batch insert and its own transaction. Results are written as each chunk commits, so neither the
+// input nor the results are ever held in full.
+@Service
+public class UserImportService {
+    
+    // Attempts per chunk when a concurrent insert takes an email or id between the check and the insert
+    private static final int MAX_ATTEMPTS = 3;
+    
+    // Column length of users.id, name and email
+    private static final int MAX_LENGTH = 255;
+    
+    // The checks User's constraint annotations describe; no Bean Validation provider is on the classpath
+    private static final Pattern EMAIL = Pattern.compile("[^@\\s]+@[^@\\s]+");
+    
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader userReader;
+    private final int chunkSize;
+    
+    @Autowired
+    public UserImportService(UserRepository userRepository, JdbcTemplate jdbcTemplate,
+                             PlatformTransactionManager transactionManager, ObjectMapper objectMapper,
+                             @Value("${banking.users.import.chunk-size:1000}") int chunkSize) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.objectMapper = objectMapper;
+        this.userReader = objectMapper.readerFor(User.class);
+        this.chunkSize = chunkSize;
+    }
+    
+    // Reads one user per line and writes one UserImportResult per non-blank line, in input order.
+    // Returns the number of users created.
+    public long importNdjson(InputStream in, OutputStream out) {
+        long created = 0;
+        long line = 0;
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+             JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setPrettyPrinter(new MinimalPrettyPrinter(""));
+            
+            List<Row> chunk = new ArrayList<>(chunkSize);
+            String text;
+            while ((text = reader.readLine()) != null) {
+                line++;
+                if (text.isBlank()) {
+                    continue;
+                }
+                chunk.add(parse(line, text));
+                if (chunk.size() == chunkSize) {
+                    created += write(generator, importChunk(chunk));
+                    chunk.clear();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                created += write(generator, importChunk(chunk));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("User import failed after " + line + " lines", e);
+        }
+        return created;
+    }
+    
+    private Row parse(long line, String text) {
+        User user;
+        try {
+            user = userReader.readValue(text);
+        } catch (JsonProcessingException e) {
+            return new Row(line, null, UserImportResult.invalid(line, "Malformed JSON: " + e.getOriginalMessage()));
+        }
+        if (user.getId() != null && user.getId().isBlank()) {
+            user.setId(null);
+        }
+        String error = validate(user);
+        if (error != null) {
+            return new Row(line, null, UserImportResult.invalid(line, error));
+        }
+        return new Row(line, user, null);
+    }
+    
+    private static String validate(User user) {
+        if (user.getName() == null || user.getName().isBlank()) {
+            return "Name is required";
+        }
+        if (user.getEmail() == null || user.getEmail().isBlank()) {
+            return "Email is required";
+        }
+        if (!EMAIL.matcher(user.getEmail()).matches()) {
+            return "Email must be valid";
+        }
+        if (user.getBalance() < 0) {
+            return "Balance must be non-negative";
+        }
+        // Would fail the chunk's insert instead of only this line
+        if (tooLong(user.getId()) || tooLong(user.getName()) || tooLong(user.getEmail())) {
+            return "Id, name and email must be at most " + MAX_LENGTH + " characters";
+        }
+        return null;
+    }
+    
+    private static boolean tooLong(String value) {
+        return value != null && value.length() > MAX_LENGTH;
+    }
+    
+    private List<UserImportResult> importChunk(List<Row> chunk) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> insertChunk(chunk));
+            } catch (DataIntegrityViolationException e) {
+                // Taken concurrently after the check; the next attempt's check sees it
+                if (attempt == MAX_ATTEMPTS) {
+                    throw e;
+                }
+            }
+        }
+    }
+    
+    private List<UserImportResult> insertChunk(List<Row> chunk) {
+        Set<String> emails = new HashSet<>();
+        Set<String> ids = new HashSet<>();
+        for (Row row : chunk) {
+            if (row.user != null) {
+                emails.add(row.user.getEmail());
+                if (row.user.getId() != null) {
+                    ids.add(row.user.getId());
+                }
+            }
+        }
+        Set<String> takenEmails = new HashSet<>();
+        Set<String> takenIds = new HashSet<>();
+        if (!emails.isEmpty()) {
+            for (Object[] existing : userRepository.findByEmailOrIdIn(emails, ids)) {
+                takenIds.add((String) existing[0]);
+                takenEmails.add((String) existing[1]);
+            }
+        }
+        
+        // Earlier lines of the chunk win over later duplicates, as they would have been created first
+        List<UserImportResult> results = new ArrayList<>(chunk.size());
+        List<User> inserts = new ArrayList<>(chunk.size());
+        List<UUID> generatedIds = UuidV7.next(chunk.size());
+        for (int i = 0; i < chunk.size(); i++) {
+            Row row = chunk.get(i);
+            if (row.user == null) {
+                results.add(row.invalid);
+                continue;
+            }
+            User user = row.user;
+            if (takenEmails.contains(user.getEmail())) {
+                results.add(UserImportResult.duplicate(row.line, "User with email " + user.getEmail() + " already exists"));
+                continue;
+            }
+            if (user.getId() != null && takenIds.contains(user.getId())) {
+                results.add(UserImportResult.duplicate(row.line, "User with id " + user.getId() + " already exists"));
+                continue;
+            }
+            String id = user.getId() != null ? user.getId() : generatedIds.get(i).toString();
+            takenEmails.add(user.getEmail());
+            takenIds.add(id);
+            inserts.add(new User(id, user.getName(), user.getEmail(), user.getBalance()));
+            results.add(UserImportResult.created(row.line, id));
+        }
+        
+        if (inserts.isEmpty()) {
+            return results;
+        }
+        jdbcTemplate.batchUpdate(
+                "INSERT INTO users (id, name, email, balance_cents, balance_shards) VALUES (?, ?, ?, ?, 0)",
+                inserts, inserts.size(), (ps, user) -> {
+                    ps.setString(1, user.getId());
+                    ps.setString(2, user.getName());
+                    ps.setString(3, user.getEmail());
+                    ps.setLong(4, user.getSnapshotBalance());
+                });
+        return results;
+    }
+    
+    private static long write(JsonGenerator generator, List<UserImportResult> results) throws IOException {
+        long created = 0;
+        for (UserImportResult result : results) {
+            generator.writeObject(result);
+            generator.writeRaw('\n');
+            if (result.getStatus() == UserImportResult.Status.CREATED) {
+                created++;
+            }
+        }
+        generator.flush();
+        return created;
+    }
+    
+    private static final class Row {
+        
+        private final long line;
+        // Null when the line is invalid
+        private final User user;
+        private final UserImportResult invalid;
+        
+        private Row(long line, User user, UserImportResult invalid) {
+            this.line = line;
+            this.user = user;
+            this.invalid = invalid;
+        }
+    }
+}
@@ -1,23 +1,48 @@
 package com.project.banking.service;
 
+import com.project.banking.config.CacheConfig;
+import com.project.banking.config.ReadRouting;
+import com.project.banking.dto.AccountEvent;
+import com.project.banking.dto.UserTransactionStats;
+import com.project.banking.dto.UserView;
+import com.project.banking.id.UuidV7;
+import com.project.banking.model.BalanceShard;
 import com.project.banking.model.User;
+import com.project.banking.repository.BalanceShardRepository;
+import com.project.banking.repository.TransactionStatsRepository;
+import com.project.banking.repository.UserProfileRepository;
 import com.project.banking.repository.UserRepository;
 import jakarta.persistence.EntityNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
-import java.util.UUID;
 
 @Service
 @Transactional
 public class UserService {
     
+    public static final int MAX_BALANCE_SHARDS = 64;
+    
     private final UserRepository userRepository;
+    private final UserProfileRepository userProfileRepository;
+    private final BalanceShardRepository balanceShardRepository;
+    private final TransactionStatsRepository transactionStatsRepository;
+    private final LedgerService ledgerService;
+    private final AccountEventBus accountEventBus;
     
     @Autowired
-    public UserService(UserRepository userRepository) {
+    public UserService(UserRepository userRepository, UserProfileRepository userProfileRepository,
+                       BalanceShardRepository balanceShardRepository, TransactionStatsRepository transactionStatsRepository,
+                       LedgerService ledgerService, AccountEventBus accountEventBus) {
         this.userRepository = userRepository;
+        this.userProfileRepository = userProfileRepository;
+        this.balanceShardRepository = balanceShardRepository;
+        this.transactionStatsRepository = transactionStatsRepository;
+        this.ledgerService = ledgerService;
+        this.accountEventBus = accountEventBus;
     }
     
     @Transactional(readOnly = true)
@@ -25,16 +50,30 @@ public class UserService {
         return userRepository.findAll();
     }
     
+    // Cached as an immutable view, never as the entity itself. Misses read the primary: a replica that has not
+    // caught up with the write that evicted the entry would otherwise put the old balance back for a whole TTL.
+    // Loaded through the cache (sync), so concurrent misses share one read and an unknown id leaves nothing behind.
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USERS, sync = true)
+    public UserView getUserById(String id) {
+        return ReadRouting.fromPrimary(() -> userRepository.findById(id).map(UserView::of)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id)));
+    }
+    
+    // Maintained by ledger compaction; the read does not depend on the length of the user's history
     @Transactional(readOnly = true)
-    public User getUserById(String id) {
-        return userRepository.findById(id)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + id));
+    public UserTransactionStats getTransactionStats(String userId) {
+        if (userProfileRepository.findById(userId).isEmpty()) {
+            throw new EntityNotFoundException("User not found with id: " + userId);
+        }
+        return transactionStatsRepository.findTotals(userId);
     }
     
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#user.id")
     public User createUser(User user) {
-        // Generate UUID if not provided
+        // Generate a time-ordered UUID if not provided
         if (user.getId() == null || user.getId().trim().isEmpty()) {
-            user.setId(UUID.randomUUID().toString());
+            user.setId(UuidV7.next().toString());
         }
         
         // Check if email already exists
@@ -44,29 +83,45 @@ public class UserService {
         
         // Ensure balance is non-negative
         if (user.getBalance() < 0) {
-            user.setBalance(0.0);
+            user.setBalance(0);
         }
         
         return userRepository.save(user);
     }
     
-    public void updateBalance(String userId, double newBalance) {
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void updateBalance(String userId, long newBalance) {
         if (newBalance < 0) {
             throw new IllegalArgumentException("Balance cannot be negative");
         }
         
-        // Verify user exists
-        if (!userRepository.existsById(userId)) {
-            throw new EntityNotFoundException("User not found with id: " + userId);
+        // Locked like a debit, so the adjustment is computed against a balance no transfer can change meanwhile
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        ledgerService.adjust(user, newBalance);
+        if (accountEventBus.hasSubscribers(userId)) {
+            accountEventBus.publishAfterCommit(List.of(AccountEvent.adjustment(userId, newBalance)));
         }
-        
-        int updatedRows = userRepository.updateUserBalance(userId, newBalance);
-        if (updatedRows == 0) {
-            throw new EntityNotFoundException("Failed to update balance for user: " + userId);
+    }
+    
+    // Hot-account mode: incoming credits are spread over `shards` sub-balances instead of the main balance.
+    // Shard rows are only ever added, so entries already posted to a shard still have a row to compact into.
+    @CacheEvict(cacheNames = CacheConfig.USERS, key = "#userId")
+    public void updateBalanceShards(String userId, int shards) {
+        if (shards < 0 || shards > MAX_BALANCE_SHARDS) {
+            throw new IllegalArgumentException("Balance shards must be between 0 and " + MAX_BALANCE_SHARDS);
+        }
+        User user = userRepository.findByIdForUpdate(userId)
+                .orElseThrow(() -> new EntityNotFoundException("User not found with id: " + userId));
+        for (int shard = balanceShardRepository.countByUserId(userId) + 1; shard <= shards; shard++) {
+            balanceShardRepository.save(new BalanceShard(user, shard));
         }
+        user.setBalanceShards(shards);
     }
     
+    // Users are never deleted, so only positive answers are cached
     @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.USER_EXISTS, unless = "!#result")
     public boolean userExists(String userId) {
         return userRepository.existsById(userId);
     }
@@ -0,0 +1,6 @@
+-- Poison events: an event the sink rejects on its own while the rest of its batch goes through counts a failed
+-- attempt; after max-attempts it is parked (parked_at set) and no longer picked up, so it cannot hold back the
+-- events behind it. Parked rows stay in the table with their last error for an operator to inspect or requeue.
+ALTER TABLE outbox_events ADD COLUMN attempts INT DEFAULT 0 NOT NULL;
+ALTER TABLE outbox_events ADD COLUMN last_error VARCHAR(1000);
+ALTER TABLE outbox_events ADD COLUMN parked_at TIMESTAMP(6);
@@ -0,0 +1,24 @@
+-- Schema as previously generated by Hibernate (ddl-auto=update); a no-op on existing databases
+CREATE TABLE IF NOT EXISTS users (
+    id VARCHAR(255) NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    email VARCHAR(255) NOT NULL,
+    balance DOUBLE PRECISION NOT NULL,
+    CONSTRAINT pk_users PRIMARY KEY (id),
+    CONSTRAINT uk_users_email UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS transactions (
+    id BIGINT GENERATED BY DEFAULT AS IDENTITY,
+    sender_id VARCHAR(255) NOT NULL,
+    recipient_id VARCHAR(255) NOT NULL,
+    amount DOUBLE PRECISION NOT NULL,
+    timestamp TIMESTAMP(6) NOT NULL,
+    CONSTRAINT pk_transactions PRIMARY KEY (id),
+    CONSTRAINT fk_transactions_sender FOREIGN KEY (sender_id) REFERENCES users (id),
+    CONSTRAINT fk_transactions_recipient FOREIGN KEY (recipient_id) REFERENCES users (id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_transactions_timestamp_id ON transactions (timestamp, id);
+CREATE INDEX IF NOT EXISTS idx_transactions_sender_timestamp ON transactions (sender_id, timestamp);
+CREATE INDEX IF NOT EXISTS idx_transactions_recipient_timestamp ON transactions (recipient_id, timestamp);
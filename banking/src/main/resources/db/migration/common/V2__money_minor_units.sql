@@ -0,0 +1,10 @@
+-- Balances and amounts move from double precision to exact long minor units (cents)
+ALTER TABLE users ADD COLUMN balance_cents BIGINT;
+UPDATE users SET balance_cents = CAST(ROUND(balance * 100) AS BIGINT);
+ALTER TABLE users ALTER COLUMN balance_cents SET NOT NULL;
+ALTER TABLE users DROP COLUMN balance;
+
+ALTER TABLE transactions ADD COLUMN amount_cents BIGINT;
+UPDATE transactions SET amount_cents = CAST(ROUND(amount * 100) AS BIGINT);
+ALTER TABLE transactions ALTER COLUMN amount_cents SET NOT NULL;
+ALTER TABLE transactions DROP COLUMN amount;
@@ -0,0 +1,10 @@
+-- Idempotency-Key values seen on POST /api/transactions; the primary key is the unique index
+-- that concurrent duplicates collide on
+CREATE TABLE idempotency_keys (
+    idempotency_key VARCHAR(255) PRIMARY KEY,
+    request_fingerprint VARCHAR(600) NOT NULL,
+    transaction_id BIGINT,
+    created_at TIMESTAMP(6) NOT NULL
+);
+
+CREATE INDEX idx_idempotency_keys_created_at ON idempotency_keys (created_at);
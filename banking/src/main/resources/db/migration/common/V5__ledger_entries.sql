@@ -0,0 +1,17 @@
+-- Append-only double-entry postings: each transfer writes a debit (negative) for the sender and a credit
+-- (positive) for the recipient. users.balance_cents becomes the snapshot balance; the current balance is the
+-- snapshot plus the entries not yet compacted into it. Existing balances are the opening snapshots.
+CREATE SEQUENCE ledger_entries_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE ledger_entries (
+    id BIGINT PRIMARY KEY,
+    user_id VARCHAR(255) NOT NULL,
+    transaction_id BIGINT,
+    amount_cents BIGINT NOT NULL,
+    compacted BOOLEAN NOT NULL DEFAULT FALSE,
+    created_at TIMESTAMP(6) NOT NULL,
+    CONSTRAINT fk_ledger_entries_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+CREATE INDEX idx_ledger_entries_user_compacted ON ledger_entries (user_id, compacted);
+CREATE INDEX idx_ledger_entries_transaction ON ledger_entries (transaction_id);
@@ -0,0 +1,16 @@
+-- Hot accounts: credits are spread over balance_shards sub-balances (shards 1..n), each compacted on its own
+-- without the account row lock. Shard 0 is the main balance in users.balance_cents, which takes all debits.
+ALTER TABLE users ADD COLUMN balance_shards INT NOT NULL DEFAULT 0;
+
+ALTER TABLE ledger_entries ADD COLUMN shard INT NOT NULL DEFAULT 0;
+
+DROP INDEX idx_ledger_entries_user_compacted;
+CREATE INDEX idx_ledger_entries_user_compacted ON ledger_entries (user_id, compacted, shard);
+
+CREATE TABLE balance_shards (
+    user_id VARCHAR(255) NOT NULL,
+    shard INT NOT NULL,
+    balance_cents BIGINT NOT NULL,
+    CONSTRAINT pk_balance_shards PRIMARY KEY (user_id, shard),
+    CONSTRAINT fk_balance_shards_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
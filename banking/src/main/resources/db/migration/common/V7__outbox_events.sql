@@ -0,0 +1,12 @@
+-- Transactional outbox: events for downstream systems are inserted in the same DB transaction as the change
+-- they describe and deleted by the relay once the sink has accepted them, so pending rows are exactly the
+-- undelivered events. Ids come from a sequence so the inserts join the transfer's JDBC batch.
+CREATE SEQUENCE outbox_events_seq START WITH 1 INCREMENT BY 50;
+
+CREATE TABLE outbox_events (
+    id BIGINT PRIMARY KEY,
+    event_type VARCHAR(100) NOT NULL,
+    aggregate_id VARCHAR(255) NOT NULL,
+    payload VARCHAR(4000) NOT NULL,
+    created_at TIMESTAMP(6) NOT NULL
+);
@@ -0,0 +1,31 @@
+-- Lifetime transfer totals per user, one row per balance shard: the ledger compactor adds the transfer entries it
+-- compacts to the row of the shard it holds locked, so totals are these rows plus the few pending entries.
+CREATE TABLE transaction_stats (
+    user_id VARCHAR(255) NOT NULL,
+    shard INT NOT NULL,
+    sent_count BIGINT NOT NULL,
+    sent_cents BIGINT NOT NULL,
+    received_count BIGINT NOT NULL,
+    received_cents BIGINT NOT NULL,
+    last_activity_at TIMESTAMP(6),
+    CONSTRAINT pk_transaction_stats PRIMARY KEY (user_id, shard),
+    CONSTRAINT fk_transaction_stats_user FOREIGN KEY (user_id) REFERENCES users (id)
+);
+
+-- Existing history: every transfer side except those still pending in the ledger (transfers from before the
+-- ledger have no entries at all), all into shard 0
+INSERT INTO transaction_stats (user_id, shard, sent_count, sent_cents, received_count, received_cents, last_activity_at)
+SELECT h.user_id, 0, SUM(h.sent_count), SUM(h.sent_cents), SUM(h.received_count), SUM(h.received_cents), MAX(h.timestamp)
+FROM (
+    SELECT t.sender_id AS user_id, 1 AS sent_count, t.amount_cents AS sent_cents,
+           0 AS received_count, 0 AS received_cents, t.timestamp AS timestamp
+    FROM transactions t
+    WHERE NOT EXISTS (SELECT 1 FROM ledger_entries e
+                      WHERE e.transaction_id = t.id AND e.user_id = t.sender_id AND e.compacted = FALSE)
+    UNION ALL
+    SELECT t.recipient_id, 0, 0, 1, t.amount_cents, t.timestamp
+    FROM transactions t
+    WHERE NOT EXISTS (SELECT 1 FROM ledger_entries e
+                      WHERE e.transaction_id = t.id AND e.user_id = t.recipient_id AND e.compacted = FALSE)
+) h
+GROUP BY h.user_id;
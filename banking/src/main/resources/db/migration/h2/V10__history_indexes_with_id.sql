@@ -0,0 +1,7 @@
+-- Per-user history pages order by (timestamp, id) and are cut to the page size on each side of the UNION ALL;
+-- with id in the index a side reads its newest rows in order and stops, ties on timestamp included
+DROP INDEX idx_transactions_sender_timestamp;
+CREATE INDEX idx_transactions_sender_timestamp_id ON transactions (sender_id, timestamp, id);
+
+DROP INDEX idx_transactions_recipient_timestamp;
+CREATE INDEX idx_transactions_recipient_timestamp_id ON transactions (recipient_id, timestamp, id);
@@ -0,0 +1,3 @@
+-- The compactor walks pending entries in (user_id, shard) order, a bounded window per run. Leading with
+-- compacted keeps the pending rows together in the index, apart from the ever-growing compacted ones.
+CREATE INDEX idx_ledger_entries_pending ON ledger_entries (compacted, user_id, shard);
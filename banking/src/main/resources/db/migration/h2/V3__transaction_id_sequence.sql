@@ -0,0 +1,4 @@
+-- IDENTITY forces an INSERT per persist and disables JDBC insert batching; ids now come from a pooled sequence
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
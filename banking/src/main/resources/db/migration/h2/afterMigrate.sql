@@ -0,0 +1,2 @@
+-- Runs after every migrate: applies banking.transaction-id.allocation-size to the id sequence
+ALTER SEQUENCE transactions_seq INCREMENT BY ${transactionIdAllocationSize};
@@ -0,0 +1,58 @@
+-- Opt-in (banking.transactions.partitioning.enabled, see PartitioningConfig). Repeatable, so it runs after the
+-- versioned migrations whenever partitioning is switched on, and does nothing once transactions is partitioned.
+-- transactions becomes range-partitioned by month on timestamp. Existing rows are not copied: the old table is
+-- attached as the partition for everything before the first monthly one (the month after its newest row, or
+-- next month); an empty old table is dropped instead. Later months are created ahead of time by
+-- TransactionPartitionManager; the default partition only catches rows no other partition covers and
+-- should stay empty, since a month with rows in it can no longer get its own partition.
+-- The primary key must include the partition key, so it becomes (id, timestamp); ids still come from
+-- transactions_seq and stay unique.
+DO $$
+DECLARE
+    first_month TIMESTAMP := date_trunc('month', LOCALTIMESTAMP);
+    month TIMESTAMP;
+BEGIN
+    IF EXISTS (SELECT 1 FROM pg_partitioned_table WHERE partrelid = 'transactions'::regclass) THEN
+        RETURN;
+    END IF;
+
+    ALTER TABLE transactions RENAME TO transactions_legacy;
+    -- Frees the index names for the partitioned table, so they stay the ones the entity declares
+    ALTER INDEX idx_transactions_timestamp_id RENAME TO transactions_legacy_timestamp_id_idx;
+    ALTER INDEX idx_transactions_sender_timestamp_id RENAME TO transactions_legacy_sender_timestamp_id_idx;
+    ALTER INDEX idx_transactions_recipient_timestamp_id RENAME TO transactions_legacy_recipient_timestamp_id_idx;
+
+    CREATE TABLE transactions (
+        id BIGINT NOT NULL,
+        sender_id VARCHAR(255) NOT NULL,
+        recipient_id VARCHAR(255) NOT NULL,
+        timestamp TIMESTAMP(6) NOT NULL,
+        amount_cents BIGINT NOT NULL,
+        CONSTRAINT pk_transactions_partitioned PRIMARY KEY (id, timestamp),
+        CONSTRAINT fk_transactions_sender FOREIGN KEY (sender_id) REFERENCES users (id),
+        CONSTRAINT fk_transactions_recipient FOREIGN KEY (recipient_id) REFERENCES users (id)
+    ) PARTITION BY RANGE (timestamp);
+
+    IF EXISTS (SELECT 1 FROM transactions_legacy) THEN
+        first_month := date_trunc('month', GREATEST(
+                (SELECT MAX(timestamp) FROM transactions_legacy), LOCALTIMESTAMP)) + INTERVAL '1 month';
+        EXECUTE format('ALTER TABLE transactions ATTACH PARTITION transactions_legacy FOR VALUES FROM (MINVALUE) TO (%L)',
+                       first_month);
+    ELSE
+        DROP TABLE transactions_legacy;
+    END IF;
+
+    -- Same names and horizon as TransactionPartitionManager, so inserts never wait for it to start
+    FOR i IN 0..3 LOOP
+        month := first_month + make_interval(months => i);
+        EXECUTE format('CREATE TABLE %I PARTITION OF transactions FOR VALUES FROM (%L) TO (%L)',
+                       'transactions_p' || to_char(month, 'YYYY_MM'), month, month + INTERVAL '1 month');
+    END LOOP;
+
+    CREATE TABLE transactions_default PARTITION OF transactions DEFAULT;
+
+    -- Created on every partition; the matching indexes of the old table are attached instead of rebuilt
+    CREATE INDEX idx_transactions_timestamp_id ON transactions (timestamp, id);
+    CREATE INDEX idx_transactions_sender_timestamp_id ON transactions (sender_id, timestamp, id);
+    CREATE INDEX idx_transactions_recipient_timestamp_id ON transactions (recipient_id, timestamp, id);
+END $$;
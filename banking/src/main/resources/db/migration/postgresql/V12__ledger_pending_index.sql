@@ -0,0 +1,3 @@
+-- The compactor walks pending entries in (user_id, shard) order, a bounded window per run. A partial index
+-- holds the pending rows only, so it stays small however many compacted entries the table collects.
+CREATE INDEX idx_ledger_entries_pending ON ledger_entries (user_id, shard) WHERE compacted = FALSE;
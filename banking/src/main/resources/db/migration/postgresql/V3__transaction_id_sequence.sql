@@ -0,0 +1,8 @@
+-- IDENTITY forces an INSERT per persist and disables JDBC insert batching; ids now come from a pooled sequence
+ALTER TABLE transactions ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+CREATE SEQUENCE IF NOT EXISTS transactions_seq START WITH 1 INCREMENT BY 50;
+
+-- Hibernate's pooled optimizer hands out (value - 49 .. value), so the first block must start above existing ids
+SELECT setval('transactions_seq', (SELECT COALESCE(MAX(id), 0) + 50 FROM transactions), false)
+WHERE EXISTS (SELECT 1 FROM transactions);
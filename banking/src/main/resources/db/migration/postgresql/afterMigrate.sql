@@ -0,0 +1,11 @@
+-- Runs after every migrate: applies banking.transaction-id.allocation-size to the id sequence.
+-- With pooled-lo an instance may still own (last_value .. last_value + old increment - 1), so on a
+-- change the sequence first skips past that block; new blocks can then never overlap reserved ids.
+SELECT setval('transactions_seq', last_value + increment_by, true)
+FROM pg_sequences
+WHERE schemaname = current_schema()
+  AND sequencename = 'transactions_seq'
+  AND increment_by <> ${transactionIdAllocationSize}
+  AND last_value IS NOT NULL;
+
+ALTER SEQUENCE transactions_seq INCREMENT BY ${transactionIdAllocationSize};
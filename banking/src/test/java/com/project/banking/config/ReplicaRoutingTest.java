@@ -0,0 +1,200 @@
+package com.project.banking.config;
+
+import com.project.banking.dto.UserView;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import com.project.banking.service.UserService;
+import com.zaxxer.hikari.HikariDataSource;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.sql.Connection;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Two H2 databases stand in for a primary and its replica. The replica is not replicated to: it holds its own
+// copy of alice with a different balance, which shows where each read was served from.
+@SpringBootTest(properties = "banking.datasource.replicas.urls=" + ReplicaRoutingTest.REPLICA_URL)
+@Import(ReplicaRoutingTest.ReadThenWriteController.class)
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class ReplicaRoutingTest {
+    
+    static final String REPLICA_URL = "jdbc:h2:mem:banking_replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1";
+    
+    private static JdbcTemplate replica;
+    
+    // A request that looks users up in a read-only transaction and then writes in another
+    @RestController
+    static class ReadThenWriteController {
+        
+        @Autowired
+        private UserService userService;
+        
+        @PutMapping("/test/users/{id}/balance-after-read")
+        void updateBalanceAfterRead(@PathVariable String id, @RequestBody String balance) {
+            userService.getAllUsers();
+            userService.updateBalance(id, Long.parseLong(balance));
+        }
+    }
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private HikariDataSource primaryDataSource;
+    
+    @Autowired
+    private ReplicaRoutingDataSource replicaDataSource;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @BeforeAll
+    static void migrateReplica() {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(REPLICA_URL, "sa", "");
+        Flyway.configure()
+                .dataSource(dataSource)
+                .locations("classpath:db/migration/common", "classpath:db/migration/h2")
+                .placeholders(Map.of("transactionIdAllocationSize", "50"))
+                .load()
+                .migrate();
+        replica = new JdbcTemplate(dataSource);
+    }
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        
+        replica.update("DELETE FROM ledger_entries");
+        replica.update("DELETE FROM users");
+        replica.update("INSERT INTO users (id, name, email, balance_cents) VALUES ('alice', 'Alice', 'alice@example.com', 99900)");
+        replicaDataSource.checkHealth();
+    }
+    
+    @Test
+    void readOnlyTransaction_ShouldBeServedByReplica() {
+        // When
+        List<User> users = userService.getAllUsers();
+        
+        // Then
+        assertEquals(99_900, users.get(0).getBalance());
+    }
+    
+    @Test
+    void writeTransaction_ShouldGoToPrimary() {
+        // When
+        userService.updateBalance("alice", 5_000);
+        
+        // Then
+        assertEquals(5_000, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT balance_cents + (SELECT COALESCE(SUM(amount_cents), 0) FROM ledger_entries) FROM users WHERE id = 'alice'",
+                Long.class));
+        assertEquals(99_900, replica.queryForObject("SELECT balance_cents FROM users WHERE id = 'alice'", Long.class));
+    }
+    
+    @Test
+    void readOnlyTransaction_AfterWriteInSameRequest_ShouldBeServedByPrimary() {
+        // Given
+        ReadRouting.begin(false);
+        try {
+            // When
+            userService.updateBalance("alice", 5_000);
+            List<User> users = userService.getAllUsers();
+            
+            // Then
+            assertEquals(5_000, users.get(0).getBalance());
+        } finally {
+            ReadRouting.end();
+        }
+    }
+    
+    @Test
+    void getAllUsers_WithReadYourWritesHeader_ShouldBeServedByPrimary() throws Exception {
+        mockMvc.perform(get("/api/users"))
+                .andExpect(jsonPath("$[0].balance").value(999.00));
+        mockMvc.perform(get("/api/users").header(ReadConsistencyFilter.HEADER, "true"))
+                .andExpect(jsonPath("$[0].balance").value(100.00));
+    }
+    
+    @Test
+    void getUserById_AfterWriteTheReplicaHasNotSeen_ShouldNotCacheTheStaleBalance() throws Exception {
+        // Given: a write that evicts alice's cache entry and never reaches the lagging replica
+        userService.updateBalance("alice", 5_000);
+        
+        // When: the miss is filled outside any request, where read-only transactions go to the replica
+        UserView user = userService.getUserById("alice");
+        
+        // Then: the cached value is the primary's, including for a Read-Your-Writes client served from the cache
+        assertEquals(5_000, user.getBalance());
+        assertEquals(5_000, userService.getUserById("alice").getBalance());
+        mockMvc.perform(get("/api/users/alice").header(ReadConsistencyFilter.HEADER, "true"))
+                .andExpect(jsonPath("$.balance").value(50.00));
+        assertEquals(99_900, userService.getAllUsers().get(0).getBalance());
+    }
+    
+    @Test
+    void writeTransaction_AfterReadOnlyLookupInSameRequest_ShouldGoToPrimary() throws Exception {
+        // When: one request reads from the replica, then writes
+        mockMvc.perform(put("/test/users/alice/balance-after-read").content("5000"))
+                .andExpect(status().isOk());
+        
+        // Then
+        assertEquals(1, new JdbcTemplate(primaryDataSource).queryForObject(
+                "SELECT COUNT(*) FROM ledger_entries WHERE user_id = 'alice'", Long.class));
+        assertEquals(0, replica.queryForObject("SELECT COUNT(*) FROM ledger_entries", Long.class));
+    }
+    
+    @Test
+    void getConnection_WithNoHealthyReplica_ShouldFallBackToPrimary() throws Exception {
+        // Given
+        HikariDataSource primary = new HikariDataSource();
+        primary.setJdbcUrl(REPLICA_URL);
+        primary.setUsername("sa");
+        HikariDataSource unreachable = new HikariDataSource();
+        unreachable.setJdbcUrl("jdbc:h2:tcp://localhost:1/unreachable");
+        unreachable.setConnectionTimeout(250);
+        unreachable.setInitializationFailTimeout(-1);
+        try (primary; unreachable) {
+            ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(primary, List.of(unreachable));
+            
+            // When
+            routing.checkHealth();
+            try (Connection connection = routing.getConnection()) {
+                
+                // Then
+                assertTrue(routing.getHealthyReplicas().isEmpty());
+                assertTrue(connection.isValid(1));
+            }
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.project.banking.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class UuidV7Test {
+
+    @Test
+    void next_ShouldReturnVersion7IdsWithTheCurrentTime() {
+        long before = System.currentTimeMillis();
+        UUID uuid = UuidV7.next();
+        long after = System.currentTimeMillis();
+
+        assertEquals(7, uuid.version());
+        assertEquals(2, uuid.variant());
+        assertTrue(UuidV7.timestamp(uuid) >= before);
+        assertTrue(UuidV7.timestamp(uuid) <= after + 1);
+    }
+
+    @Test
+    void next_ShouldIncreaseAsStringsAcrossSingleAndBulkCalls() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            ids.add(UuidV7.next().toString());
+        }
+        UuidV7.next(10_000).forEach(uuid -> ids.add(uuid.toString()));
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i - 1).compareTo(ids.get(i)) < 0, "not increasing at " + i);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+package com.project.banking.money;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.User;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MoneyTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void parse_WithValidDecimals_ShouldReturnMinorUnits() {
+        assertEquals(12345, Money.parse("123.45"));
+        assertEquals(12340, Money.parse("123.4"));
+        assertEquals(12300, Money.parse("123"));
+        assertEquals(12300, Money.parse("123.000"));
+        assertEquals(5, Money.parse("0.05"));
+        assertEquals(-1205, Money.parse("-12.05"));
+    }
+
+    @Test
+    void parse_WithInvalidInput_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1.005"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("1e3"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("12."));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse(".5"));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse(""));
+        assertThrows(IllegalArgumentException.class, () -> Money.parse("99999999999999999999"));
+    }
+
+    @Test
+    void format_ShouldAlwaysWriteTwoFractionDigits() {
+        assertEquals("123.45", Money.format(12345));
+        assertEquals("0.05", Money.format(5));
+        assertEquals("-0.50", Money.format(-50));
+        assertEquals("100.00", Money.format(10000));
+        assertEquals(Long.MAX_VALUE, Money.parse(Money.format(Long.MAX_VALUE)));
+    }
+
+    @Test
+    void json_ShouldRoundTripDecimalAmounts() throws Exception {
+        // Given
+        TransactionRequest request = objectMapper.readValue(
+                "{\"senderId\":\"a\",\"recipientId\":\"b\",\"amount\":19.99}", TransactionRequest.class);
+
+        // When
+        String json = objectMapper.writeValueAsString(new User("u1", "Alice", "alice@example.com", request.getAmount()));
+
+        // Then
+        assertEquals(1999, request.getAmount());
+        assertTrue(json.contains("\"balance\":19.99"), json);
+    }
+}
@@ -0,0 +1,160 @@
+package com.project.banking.reactive;
+
+import com.project.banking.dto.TransactionRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(classes = ReactiveBankingApplication.class, properties = "spring.main.web-application-type=reactive")
+@AutoConfigureWebTestClient
+@ActiveProfiles({ReactiveBankingApplication.PROFILE, "test"})
+class ReactiveTransferTest {
+    
+    @Autowired
+    private WebTestClient webTestClient;
+    
+    @Autowired
+    private ReactiveTransferService transferService;
+    
+    @Autowired
+    private ReactiveTransactionRepository transactionRepository;
+    
+    @Autowired
+    private DatabaseClient databaseClient;
+    
+    @BeforeEach
+    void setUp() {
+        for (String sql : List.of(
+                "DELETE FROM ledger_entries WHERE user_id LIKE 'rx-%'",
+                "DELETE FROM outbox_events WHERE payload LIKE '%\"rx-%'",
+                "DELETE FROM transactions WHERE sender_id LIKE 'rx-%'",
+                "DELETE FROM users WHERE id LIKE 'rx-%'")) {
+            databaseClient.sql(sql).then().block();
+        }
+        createUser("rx-alice", "100.00");
+        createUser("rx-bob", "0.00");
+    }
+    
+    @Test
+    void createTransaction_ShouldPostLedgerEntriesAndOutboxEvent() {
+        // When
+        webTestClient.post().uri("/api/transactions")
+                .bodyValue(new TransactionRequest("rx-alice", "rx-bob", 2_500))
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.amount").isEqualTo(25.00)
+                .jsonPath("$.sender.balance").isEqualTo(75.00)
+                .jsonPath("$.recipient.id").isEqualTo("rx-bob")
+                .jsonPath("$.recipient.balance").doesNotExist();
+        
+        // Then
+        webTestClient.get().uri("/api/users/rx-bob").exchange()
+                .expectStatus().isOk()
+                .expectBody().jsonPath("$.balance").isEqualTo(25.00);
+        webTestClient.get().uri("/api/transactions?size=1").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items[0].senderId").isEqualTo("rx-alice")
+                .jsonPath("$.items[0].recipientName").isEqualTo("rx-bob")
+                .jsonPath("$.items[0].amount").isEqualTo(25.00);
+        webTestClient.get().uri("/api/transactions/user/rx-alice").exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.items.length()").isEqualTo(1)
+                .jsonPath("$.items[0].direction").isEqualTo("SENT")
+                .jsonPath("$.items[0].counterpartyId").isEqualTo("rx-bob");
+        assertEquals(List.of(-2_500L, 2_500L), databaseClient
+                .sql("SELECT amount_cents FROM ledger_entries WHERE user_id LIKE 'rx-%' AND transaction_id IS NOT NULL ORDER BY id")
+                .map(row -> row.get("amount_cents", Long.class)).all().collectList().block());
+        assertEquals(1L, databaseClient
+                .sql("SELECT COUNT(*) AS events FROM outbox_events WHERE payload LIKE '%\"senderId\":\"rx-alice\"%'")
+                .map(row -> row.get("events", Long.class)).one().block());
+    }
+    
+    @Test
+    void createTransaction_ShouldAnswerLikeTheServletApiOnErrors() {
+        // Insufficient balance
+        webTestClient.post().uri("/api/transactions")
+                .bodyValue(new TransactionRequest("rx-bob", "rx-alice", 100))
+                .exchange()
+                .expectStatus().isBadRequest()
+                .expectBody(String.class).isEqualTo("Insufficient balance. Available: 0.00, Required: 1.00");
+        
+        // Unknown account
+        webTestClient.post().uri("/api/transactions")
+                .bodyValue(new TransactionRequest("rx-carol", "rx-alice", 100))
+                .exchange()
+                .expectStatus().isNotFound()
+                .expectBody(String.class).isEqualTo("Sender not found with id: rx-carol");
+        
+        // Idempotency keys are only honored by the servlet application
+        webTestClient.post().uri("/api/transactions")
+                .header("Idempotency-Key", "rx-key")
+                .bodyValue(new TransactionRequest("rx-alice", "rx-bob", 100))
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+    
+    @Test
+    void createTransaction_ConcurrentDebits_ShouldNeverOverdraw() {
+        // Given: 20 concurrent transfers of 10.00 against a balance of 100.00
+        List<HttpStatus> outcomes = Flux.range(0, 20)
+                .flatMap(i -> transferService.createTransaction("rx-alice", "rx-bob", 1_000)
+                        .map(transaction -> HttpStatus.CREATED)
+                        .onErrorReturn(HttpStatus.BAD_REQUEST), 20)
+                .collectList()
+                .block();
+        
+        // Then
+        assertEquals(10, outcomes.stream().filter(HttpStatus.CREATED::equals).count());
+        webTestClient.get().uri("/api/users/rx-alice").exchange()
+                .expectBody().jsonPath("$.balance").isEqualTo(0.00);
+    }
+    
+    @Test
+    void nextTransferIds_ShouldHandOutIdsFromPooledBlocks() {
+        // When: 100 transfers' worth of ids, with sequences incrementing by 50
+        List<ReactiveTransactionRepository.TransferIds> ids = Flux.range(0, 100)
+                .concatMap(i -> transactionRepository.nextTransferIds())
+                .collectList()
+                .block();
+        
+        // Then: consecutive ids within a block, so each sequence was only called once per block
+        assertNotNull(ids);
+        assertTrue(blockBreaks(ids.stream().map(ReactiveTransactionRepository.TransferIds::getTransactionId).toList(), 1) <= 2);
+        assertTrue(blockBreaks(ids.stream().map(ReactiveTransactionRepository.TransferIds::getEntryId).toList(), 2) <= 4);
+        assertTrue(blockBreaks(ids.stream().map(ReactiveTransactionRepository.TransferIds::getEventId).toList(), 1) <= 2);
+    }
+    
+    // How often the next id does not directly follow the previous one, i.e. a new block was reserved
+    private static long blockBreaks(List<Long> ids, int step) {
+        assertEquals(ids.size(), ids.stream().distinct().count());
+        long breaks = 0;
+        for (int i = 1; i < ids.size(); i++) {
+            if (ids.get(i) != ids.get(i - 1) + step) {
+                breaks++;
+            }
+        }
+        return breaks;
+    }
+    
+    private void createUser(String id, String balance) {
+        webTestClient.post().uri("/api/users")
+                .bodyValue("{\"id\":\"" + id + "\",\"name\":\"" + id + "\",\"email\":\"" + id + "@example.com\"," +
+                        "\"balance\":" + balance + "}")
+                .header("Content-Type", "application/json")
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
@@ -0,0 +1,100 @@
+package com.project.banking.repository;
+
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.jpa.repository.NativeQuery;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionRepositoryIndexTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    @TestConfiguration
+    static class CaptureStatements {
+
+        @Bean
+        HibernatePropertiesCustomizer statementCapture() {
+            StatementInspector inspector = sql -> {
+                STATEMENTS.add(sql);
+                return sql;
+            };
+            return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, inspector);
+        }
+    }
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        // Two users trading 2,000 transfers, analyzed: on an empty table H2 has no statistics to choose by
+        jdbcTemplate.update("INSERT INTO users (id, name, email, balance_cents) " +
+                "VALUES ('index1', 'Index 1', 'index1@example.com', 0), ('index2', 'Index 2', 'index2@example.com', 0)");
+        jdbcTemplate.update("INSERT INTO transactions (id, sender_id, recipient_id, amount_cents, timestamp) " +
+                "SELECT \"X\", CASE WHEN MOD(\"X\", 2) = 0 THEN 'index1' ELSE 'index2' END, " +
+                "CASE WHEN MOD(\"X\", 2) = 0 THEN 'index2' ELSE 'index1' END, 100, " +
+                "DATEADD('MINUTE', \"X\", TIMESTAMP '2024-01-01 00:00:00') FROM SYSTEM_RANGE(1, 2000)");
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM transactions WHERE sender_id IN ('index1', 'index2')");
+        jdbcTemplate.update("DELETE FROM users WHERE id IN ('index1', 'index2')");
+    }
+
+    @Test
+    void findByUserId_ShouldUseSenderAndRecipientIndexes() throws Exception {
+        // Given: the SQL Hibernate sends for the repository call
+        LocalDateTime from = LocalDateTime.of(2024, 1, 1, 0, 0);
+        LocalDateTime before = LocalDateTime.of(2025, 1, 1, 0, 0);
+        STATEMENTS.clear();
+        transactionRepository.findByUserId("index1", from, before, Long.MAX_VALUE, 51);
+        String sql = STATEMENTS.stream().filter(s -> s.contains("UNION ALL")).findFirst().orElseThrow();
+
+        // When: explained with the same values, bound in the order the query names them
+        Map<String, Object> parameters = Map.of("userId", "index1", "fromTimestamp", from,
+                "beforeTimestamp", before, "beforeId", Long.MAX_VALUE, "limit", 51);
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class, bindOrder(parameters).toArray());
+
+        // Then: both sides are index range scans, each cut to the page size before the merge
+        assertNotNull(plan);
+        assertTrue(plan.contains("idx_transactions_sender_timestamp_id"), plan);
+        assertTrue(plan.contains("idx_transactions_recipient_timestamp_id"), plan);
+        assertEquals(3, sql.split("(?i)\\bLIMIT\\b|\\bFETCH FIRST\\b", -1).length - 1, sql);
+    }
+
+    private static List<Object> bindOrder(Map<String, Object> parameters) throws NoSuchMethodException {
+        String query = TransactionRepository.class.getMethod("findByUserId", String.class, LocalDateTime.class,
+                LocalDateTime.class, long.class, int.class).getAnnotation(NativeQuery.class).value();
+        List<Object> values = new ArrayList<>();
+        Matcher name = Pattern.compile(":(\\w+)").matcher(query);
+        while (name.find()) {
+            values.add(parameters.get(name.group(1)));
+        }
+        return values;
+    }
+}
@@ -0,0 +1,140 @@
+package com.project.banking.service;
+
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// One sender thread and tiny socket buffers, so a single client that stops reading blocks it within a few events
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"banking.events.sender-threads=1", "banking.events.write-timeout-ms=500"})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class AccountEventBusTest {
+    
+    @TestConfiguration
+    static class SmallSocketBuffers {
+        
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> smallSendBuffer() {
+            return factory -> factory.addConnectorCustomizers(connector -> connector.setProperty("socket.txBufSize", "4096"));
+        }
+    }
+    
+    @LocalServerPort
+    private int port;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private AccountEventBus accountEventBus;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void streamEvents_AfterCommittedTransfer_ShouldPushItWithTheNewBalance() throws Exception {
+        // Given
+        MvcResult stream = mockMvc.perform(get("/api/users/bob/events"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        
+        // When
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransaction("alice", "bob", 20_000));
+        transactionService.createTransaction("alice", "bob", 2_500);
+        userService.updateBalance("bob", 1_000);
+        String body = awaitContent(stream.getResponse(), "event:adjustment");
+        
+        // Then
+        assertEquals(1, body.split("event:transaction", -1).length - 1);
+        assertTrue(body.contains("\"direction\":\"RECEIVED\""));
+        assertTrue(body.contains("\"counterpartyId\":\"alice\""));
+        assertTrue(body.contains("\"balance\":25.00"));
+        assertTrue(body.contains("\"balance\":10.00"));
+    }
+    
+    @Test
+    void streamEvents_WithClientThatNeverReads_ShouldStillDeliverToOthers() throws Exception {
+        // Given: a real connection that subscribes and then never reads, next to a regular subscriber
+        try (Socket stalled = new Socket()) {
+            stalled.setReceiveBufferSize(1024);
+            stalled.connect(new InetSocketAddress("localhost", port));
+            stalled.getOutputStream().write(("GET /api/users/bob/events HTTP/1.1\r\nHost: localhost\r\n" +
+                    "Accept: text/event-stream\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            long deadline = System.currentTimeMillis() + 10_000;
+            while (!accountEventBus.hasSubscribers("bob") && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            MvcResult stream = mockMvc.perform(get("/api/users/bob/events"))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            
+            // When: far more events than the stalled client's socket buffers hold
+            for (int i = 0; i < 200; i++) {
+                transactionService.createTransaction("alice", "bob", 1);
+            }
+            userService.updateBalance("bob", 12_345);
+            
+            // Then: the single sender thread was not kept by the stalled client
+            String body = awaitContent(stream.getResponse(), "\"balance\":123.45");
+            assertTrue(body.contains("\"balance\":123.45"), body);
+        }
+    }
+    
+    @Test
+    void streamEvents_ForUnknownUser_ShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/users/nobody/events"))
+                .andExpect(status().isNotFound());
+    }
+    
+    // Events are sent from the bus's sender threads, so they reach the response shortly after the commit
+    private static String awaitContent(MockHttpServletResponse response, String marker) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        String body = response.getContentAsString();
+        while (!body.contains(marker) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            body = response.getContentAsString();
+        }
+        return body;
+    }
+}
@@ -0,0 +1,132 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.AsyncTransferStatus;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.exception.TransferQueueFullException;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AsyncTransferServiceTest {
+    
+    @Autowired
+    private AsyncTransferService asyncTransferService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void enqueue_ManyTransfers_ShouldApplyThemAndReportEachOutcome() throws Exception {
+        // Given
+        List<AsyncTransferStatus> accepted = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            accepted.add(asyncTransferService.enqueue(new TransactionRequest("alice", "bob", 100)));
+        }
+        AsyncTransferStatus overdraft = asyncTransferService.enqueue(new TransactionRequest("alice", "bob", 1));
+        
+        // When
+        List<AsyncTransferStatus> outcomes = new ArrayList<>();
+        for (AsyncTransferStatus status : accepted) {
+            outcomes.add(awaitOutcome(status.getTrackingId()));
+        }
+        AsyncTransferStatus overdraftOutcome = awaitOutcome(overdraft.getTrackingId());
+        
+        // Then
+        assertEquals(100, outcomes.stream().filter(s -> s.getStatus() == AsyncTransferStatus.Status.APPLIED).count());
+        assertEquals(100, outcomes.stream().filter(s -> s.getStatus() == AsyncTransferStatus.Status.REJECTED).count());
+        assertTrue(outcomes.subList(0, 100).stream().allMatch(s -> s.getTransactionId() != null));
+        assertEquals(AsyncTransferStatus.Status.REJECTED, overdraftOutcome.getStatus());
+        assertTrue(overdraftOutcome.getError().startsWith("Insufficient balance"));
+        assertEquals(100, transactionRepository.count());
+        assertEquals(0, userRepository.findById("alice").orElseThrow().getBalance());
+        assertEquals(10_000, userRepository.findById("bob").orElseThrow().getBalance());
+    }
+    
+    @Test
+    void enqueue_RacingStop_ShouldLeaveNoTransferQueued() throws Exception {
+        // Given: a second instance, so stopping it leaves the shared one running
+        AsyncTransferService service = new AsyncTransferService(transactionService, new SimpleMeterRegistry(),
+                65_536, 1000, 60, 30_000);
+        service.start();
+        List<AsyncTransferStatus> accepted = new CopyOnWriteArrayList<>();
+        Thread client = new Thread(() -> {
+            try {
+                while (accepted.size() < 5_000) {
+                    accepted.add(service.enqueue(new TransactionRequest("alice", "bob", 1)));
+                }
+            } catch (TransferQueueFullException e) {
+                // Stopped
+            }
+        });
+        client.start();
+        
+        // When
+        Thread.sleep(20);
+        service.stop();
+        client.join();
+        
+        // Then: every accepted transfer was either applied or reported as failed
+        assertFalse(accepted.isEmpty());
+        assertTrue(accepted.stream().map(s -> service.getStatus(s.getTrackingId()).getStatus())
+                .noneMatch(status -> status == AsyncTransferStatus.Status.QUEUED));
+    }
+    
+    @Test
+    void enqueue_WithSameSenderAndRecipient_ShouldThrowWithoutQueueing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> asyncTransferService.enqueue(new TransactionRequest("alice", "alice", 100)));
+    }
+    
+    @Test
+    void enqueue_WithMissingOrBlankId_ShouldThrowWithoutQueueing() {
+        assertThrows(IllegalArgumentException.class,
+                () -> asyncTransferService.enqueue(new TransactionRequest(null, "bob", 100)));
+        assertThrows(IllegalArgumentException.class,
+                () -> asyncTransferService.enqueue(new TransactionRequest("alice", " ", 100)));
+    }
+    
+    @Test
+    void getStatus_WithUnknownTrackingId_ShouldThrowException() {
+        assertThrows(EntityNotFoundException.class, () -> asyncTransferService.getStatus("unknown"));
+    }
+    
+    private AsyncTransferStatus awaitOutcome(String trackingId) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30_000;
+        AsyncTransferStatus status = asyncTransferService.getStatus(trackingId);
+        while (status.getStatus() == AsyncTransferStatus.Status.QUEUED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            status = asyncTransferService.getStatus(trackingId);
+        }
+        return status;
+    }
+}
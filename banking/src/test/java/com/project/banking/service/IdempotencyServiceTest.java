@@ -0,0 +1,148 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.IdempotentTransferResult;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.User;
+import com.project.banking.repository.IdempotencyKeyRepository;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class IdempotencyServiceTest {
+    
+    @Autowired
+    private IdempotencyService idempotencyService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private IdempotencyKeyRepository idempotencyKeyRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @BeforeEach
+    void setUp() {
+        idempotencyKeyRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void createTransaction_WithRepeatedKey_ShouldDebitOnceAndReplay() {
+        // Given
+        TransactionRequest request = new TransactionRequest("alice", "bob", 2_500);
+        
+        // When
+        IdempotentTransferResult first = idempotencyService.createTransaction("repeat-key", request);
+        IdempotentTransferResult second = idempotencyService.createTransaction("repeat-key", request);
+        
+        // Then
+        assertFalse(first.isReplayed());
+        assertTrue(second.isReplayed());
+        assertEquals(first.getTransaction().getId(), second.getTransaction().getId());
+        // Only the id is cached, the replay reads the transaction again
+        assertNotSame(first.getTransaction(), second.getTransaction());
+        assertEquals("bob", second.getTransaction().getRecipient().getId());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(7_500, userRepository.findById("alice").orElseThrow().getBalance());
+    }
+    
+    @Test
+    void createTransaction_WithKeyOnlyInDatabase_ShouldReplayPersistedTransaction() {
+        // Given
+        TransactionRequest request = new TransactionRequest("alice", "bob", 2_500);
+        IdempotentTransferResult first = idempotencyService.createTransaction("persisted-key", request);
+        
+        // A fresh instance has an empty in-memory cache, like another node or a restart
+        IdempotencyService otherNode = new IdempotencyService(
+                transactionService, transactionRepository, idempotencyKeyRepository, 100, 24);
+        
+        // When
+        IdempotentTransferResult replay = otherNode.createTransaction("persisted-key", request);
+        
+        // Then
+        assertTrue(replay.isReplayed());
+        assertEquals(first.getTransaction().getId(), replay.getTransaction().getId());
+        assertEquals("alice", replay.getTransaction().getSender().getId());
+        assertEquals(1, transactionRepository.count());
+    }
+    
+    @Test
+    void createTransaction_WithKeyReusedForDifferentTransfer_ShouldThrowException() {
+        // Given
+        idempotencyService.createTransaction("reused-key", new TransactionRequest("alice", "bob", 2_500));
+        
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+                () -> idempotencyService.createTransaction("reused-key", new TransactionRequest("alice", "bob", 100)));
+        assertEquals(1, transactionRepository.count());
+    }
+    
+    @Test
+    void createTransaction_WhenFirstAttemptFails_ShouldAllowRetryWithSameKey() {
+        // Given
+        TransactionRequest request = new TransactionRequest("alice", "bob", 20_000);
+        assertThrows(IllegalArgumentException.class, () -> idempotencyService.createTransaction("retry-key", request));
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 50_000));
+        
+        // When
+        IdempotentTransferResult result = idempotencyService.createTransaction("retry-key", request);
+        
+        // Then
+        assertFalse(result.isReplayed());
+        assertEquals(1, transactionRepository.count());
+    }
+    
+    @Test
+    void createTransaction_WithConcurrentDuplicates_ShouldExecuteOnce() throws Exception {
+        // Given
+        int threads = 8;
+        TransactionRequest request = new TransactionRequest("alice", "bob", 1_000);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<IdempotentTransferResult>> futures = new ArrayList<>();
+        for (int i = 0; i < threads; i++) {
+            futures.add(executor.submit(() -> {
+                start.await();
+                return idempotencyService.createTransaction("concurrent-key", request);
+            }));
+        }
+        
+        // When
+        start.countDown();
+        List<IdempotentTransferResult> results = new ArrayList<>();
+        for (Future<IdempotentTransferResult> future : futures) {
+            results.add(future.get());
+        }
+        executor.shutdown();
+        
+        // Then
+        assertEquals(1, results.stream().filter(r -> !r.isReplayed()).count());
+        assertEquals(1, results.stream().map(r -> r.getTransaction().getId()).distinct().count());
+        assertEquals(1, transactionRepository.count());
+        assertEquals(9_000, userRepository.findById("alice").orElseThrow().getBalance());
+    }
+}
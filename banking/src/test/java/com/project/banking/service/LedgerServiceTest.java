@@ -0,0 +1,220 @@
+package com.project.banking.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.model.BalanceShard;
+import com.project.banking.model.LedgerEntry;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.repository.BalanceShardRepository;
+import com.project.banking.repository.LedgerEntryRepository;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class LedgerServiceTest {
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private LedgerEntryRepository ledgerEntryRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private BalanceShardRepository balanceShardRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private ObjectMapper objectMapper;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void createTransaction_ShouldPostBalancedEntriesWithoutTouchingSnapshots() {
+        // When
+        Transaction transaction = transactionService.createTransaction("alice", "bob", 2_500);
+        
+        // Then
+        List<LedgerEntry> entries = ledgerEntryRepository.findAll();
+        assertEquals(2, entries.size());
+        assertEquals(0, entries.stream().mapToLong(LedgerEntry::getAmount).sum());
+        assertTrue(entries.stream().allMatch(e -> transaction.getId().equals(e.getTransactionId())));
+        
+        User alice = userRepository.findById("alice").orElseThrow();
+        assertEquals(10_000, alice.getSnapshotBalance());
+        assertEquals(7_500, alice.getBalance());
+        assertEquals(2_500, userRepository.findById("bob").orElseThrow().getBalance());
+    }
+    
+    @Test
+    void createTransaction_ShouldNotLoadTheRecipient() throws Exception {
+        // When
+        Transaction transaction = transactionService.createTransaction("alice", "bob", 2_500);
+        
+        // Then: bob is only referenced, so his balance (a sum over his pending entries) was never computed
+        assertFalse(Hibernate.isInitialized(transaction.getRecipient()));
+        assertTrue(objectMapper.writeValueAsString(transaction).contains("\"recipient\":{\"id\":\"bob\"}"));
+        assertEquals(2_500, userRepository.findCurrentBalance("bob").orElseThrow());
+    }
+    
+    @Test
+    void compact_ShouldFoldEntriesIntoSnapshotAndKeepBalances() {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        transactionService.createTransaction("bob", "alice", 1_000);
+        
+        // When
+        int compacted = ledgerService.compact("alice", 0, 100);
+        
+        // Then
+        assertEquals(2, compacted);
+        User alice = userRepository.findById("alice").orElseThrow();
+        assertEquals(8_500, alice.getSnapshotBalance());
+        assertEquals(8_500, alice.getBalance());
+        assertEquals(0, ledgerEntryRepository.sumPending("alice", 0));
+        assertEquals(1_500, userRepository.findById("bob").orElseThrow().getBalance());
+        assertEquals(4, ledgerEntryRepository.count());
+    }
+    
+    @Test
+    void compactor_WithMoreEntriesThanOneChunk_ShouldDrainTheAccount() {
+        // Given: 5 pending entries on each side, compacted in chunks of 2
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransaction("alice", "bob", 100);
+        }
+        LedgerCompactor compactor = compactor(3, 2, 1_000);
+        
+        // When
+        int compacted = compactor.compact();
+        
+        // Then
+        assertEquals(10, compacted);
+        assertEquals(0, ledgerEntryRepository.sumPending("alice", 0));
+        assertEquals(0, ledgerEntryRepository.sumPending("bob", 0));
+        assertEquals(9_500, userRepository.findById("alice").orElseThrow().getSnapshotBalance());
+    }
+    
+    @Test
+    void compactor_ShouldScanPendingEntriesOneWindowPerRun() {
+        // Given: windows of 4 entries, alice's 5 debits sort before bob's 5 credits
+        for (int i = 0; i < 5; i++) {
+            transactionService.createTransaction("alice", "bob", 100);
+        }
+        LedgerCompactor compactor = compactor(3, 100, 4);
+        
+        // When / Then: each run only sees the next window, then the scan starts over
+        assertEquals(5, compactor.compact());
+        assertEquals(500, ledgerEntryRepository.sumPending("bob", 0));
+        assertEquals(5, compactor.compact());
+        assertEquals(0, ledgerEntryRepository.sumPending("bob", 0));
+        assertEquals(0, compactor.compact());
+        
+        // A window that cuts an account short does not skip the rest of it: alice's 3 and bob's first entry fill
+        // the window, bob is counted again in full by the next run
+        transactionService.createTransaction("bob", "alice", 100);
+        transactionService.createTransaction("bob", "alice", 100);
+        transactionService.createTransaction("bob", "alice", 100);
+        assertEquals(3, compactor.compact());
+        assertEquals(3, compactor.compact());
+        assertEquals(0, ledgerEntryRepository.sumPending("bob", 0));
+    }
+    
+    @Test
+    void hotAccount_ShouldSpreadCreditsOverShardsAndDebitAcrossThem() {
+        // Given
+        userService.updateBalanceShards("bob", 4);
+        for (int i = 0; i < 20; i++) {
+            transactionService.createTransaction("alice", "bob", 100);
+        }
+        
+        // When
+        int compacted = 0;
+        for (int shard = 1; shard <= 4; shard++) {
+            compacted += ledgerService.compact("bob", shard, 100);
+        }
+        
+        // Then
+        assertEquals(20, compacted);
+        assertTrue(ledgerEntryRepository.findAll().stream()
+                .filter(e -> e.getAmount() > 0).map(LedgerEntry::getShard).distinct().count() > 1);
+        assertEquals(2_000, userService.getUserById("bob").getBalance());
+        
+        // The main balance is empty, so this debit has to be covered by the shards
+        transactionService.createTransaction("bob", "alice", 1_500);
+        assertEquals(500, userRepository.findById("bob").orElseThrow().getBalance());
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransaction("bob", "alice", 600));
+    }
+    
+    @Test
+    void hotAccount_PayingOutMoreThanItsMainBalance_ShouldSweepShardsIntoIt() {
+        // Given: 1,000 opening balance and 5,000 of credits compacted into the shards
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 1_000));
+        userService.updateBalanceShards("bob", 4);
+        for (int i = 0; i < 10; i++) {
+            transactionService.createTransaction("alice", "bob", 500);
+        }
+        for (int shard = 1; shard <= 4; shard++) {
+            ledgerService.compact("bob", shard, 100);
+        }
+        
+        // When: a debit larger than the main balance
+        transactionService.createTransaction("bob", "alice", 2_500);
+        
+        // Then: the shards were moved into the main balance, which now covers the next debit on its own
+        User bob = userRepository.findById("bob").orElseThrow();
+        assertEquals(6_000, bob.getSnapshotBalance());
+        assertEquals(3_500, bob.getSnapshotBalance() + ledgerEntryRepository.sumPending("bob", 0));
+        assertEquals(0, balanceShardRepository.findAll().stream().mapToLong(BalanceShard::getBalance).sum());
+        assertEquals(3_500, bob.getBalance());
+        transactionService.createTransaction("bob", "alice", 3_000);
+        assertEquals(500, userRepository.findById("bob").orElseThrow().getBalance());
+    }
+    
+    private LedgerCompactor compactor(long minEntries, int maxEntriesPerAccount, int scanEntries) {
+        return new LedgerCompactor(ledgerService, ledgerEntryRepository, new SimpleMeterRegistry(), minEntries, 500,
+                maxEntriesPerAccount, scanEntries);
+    }
+    
+    @Test
+    void updateBalance_ShouldPostAdjustmentEntry() {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        
+        // When
+        userService.updateBalance("alice", 20_000);
+        
+        // Then
+        assertEquals(20_000, userRepository.findById("alice").orElseThrow().getBalance());
+        assertEquals(1, ledgerEntryRepository.findAll().stream()
+                .filter(e -> e.getTransactionId() == null && e.getAmount() == 12_500).count());
+    }
+}
@@ -0,0 +1,196 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.OutboxEvent;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.repository.OutboxEventRepository;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class OutboxRelayTest {
+    
+    @Autowired
+    private OutboxRelay outboxRelay;
+    
+    @Autowired
+    private OutboxService outboxService;
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private OutboxEventRepository outboxEventRepository;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+    
+    @MockitoSpyBean
+    private OutboxSink outboxSink;
+    
+    @Value("${banking.outbox.relay.max-attempts}")
+    private int maxAttempts;
+    
+    @BeforeEach
+    void setUp() {
+        outboxEventRepository.deleteAll();
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        clearInvocations(outboxSink);
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void relay_AfterTransfers_ShouldDeliverOneEventPerCommittedTransactionAndEmptyTheOutbox() {
+        // Given
+        Transaction transaction = transactionService.createTransaction("alice", "bob", 2_500);
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransaction("alice", "bob", 20_000));
+        transactionService.createTransactions(List.of(
+                new TransactionRequest("alice", "bob", 100),
+                new TransactionRequest("bob", "alice", 50)));
+        
+        // When
+        int relayed = outboxRelay.relay();
+        
+        // Then
+        assertEquals(3, relayed);
+        assertEquals(0, outboxEventRepository.count());
+        List<OutboxEvent> delivered = captureDelivered();
+        assertEquals(3, delivered.size());
+        OutboxEvent first = delivered.get(0);
+        assertEquals(OutboxService.TRANSACTION_CREATED, first.getEventType());
+        assertEquals(String.valueOf(transaction.getId()), first.getAggregateId());
+        assertTrue(first.getPayload().contains("\"senderId\":\"alice\""));
+        assertTrue(first.getPayload().contains("\"amount\":25.00"));
+    }
+    
+    @Test
+    void relay_WhenSinkFails_ShouldKeepEventsForTheNextRun() {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        doThrow(new IllegalStateException("sink down")).when(outboxSink).deliver(anyList());
+        
+        // When
+        assertThrows(IllegalStateException.class, () -> outboxRelay.relay());
+        assertEquals(1, outboxEventRepository.count());
+        doCallRealMethod().when(outboxSink).deliver(anyList());
+        int relayed = outboxRelay.relay();
+        
+        // Then
+        assertEquals(1, relayed);
+        assertEquals(0, outboxEventRepository.count());
+    }
+    
+    @Test
+    void relay_WithEventTheSinkAlwaysRejects_ShouldDeliverTheOthersAndParkIt() {
+        // Given: the sink rejects any batch containing the poison transfer's event
+        String poisonId = String.valueOf(transactionService.createTransaction("alice", "bob", 100).getId());
+        doAnswer(invocation -> {
+            List<OutboxEvent> events = invocation.getArgument(0);
+            if (events.stream().anyMatch(e -> e.getAggregateId().equals(poisonId))) {
+                throw new IllegalStateException("cannot encode " + poisonId);
+            }
+            return invocation.callRealMethod();
+        }).when(outboxSink).deliver(anyList());
+        
+        // When: every run has a new event queued behind the poison one
+        int relayed = 0;
+        for (int i = 0; i < maxAttempts; i++) {
+            transactionService.createTransaction("alice", "bob", 100);
+            relayed += outboxRelay.relay();
+            OutboxEvent poison = outboxEventRepository.findAll().get(0);
+            assertEquals(i + 1, poison.getAttempts());
+            assertEquals(i + 1 < maxAttempts, poison.getParkedAt() == null);
+        }
+        transactionService.createTransaction("alice", "bob", 100);
+        clearInvocations(outboxSink);
+        relayed += outboxRelay.relay();
+        
+        // Then: nothing waits behind it, and once parked it is no longer offered to the sink
+        assertEquals(maxAttempts + 1, relayed);
+        List<OutboxEvent> remaining = outboxEventRepository.findAll();
+        assertEquals(1, remaining.size());
+        assertEquals(poisonId, remaining.get(0).getAggregateId());
+        assertTrue(remaining.get(0).getLastError().contains("cannot encode " + poisonId));
+        assertTrue(captureDelivered().stream().noneMatch(e -> e.getAggregateId().equals(poisonId)));
+    }
+    
+    @Test
+    void relayBatch_WhileAnotherRelayHoldsRows_ShouldSkipThemInsteadOfWaiting() throws Exception {
+        // Given
+        for (int i = 0; i < 3; i++) {
+            transactionService.createTransaction("alice", "bob", 100);
+        }
+        CountDownLatch locked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        CompletableFuture<List<OutboxEvent>> holder = CompletableFuture.supplyAsync(() ->
+                transactionTemplate.execute(status -> {
+                    List<OutboxEvent> held = outboxEventRepository.findBatchForDelivery(1);
+                    locked.countDown();
+                    await(release);
+                    return held;
+                }));
+        assertTrue(locked.await(10, TimeUnit.SECONDS));
+        
+        // When
+        long started = System.nanoTime();
+        List<OutboxEvent> relayed = outboxService.relayBatch(10);
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+        release.countDown();
+        
+        // Then
+        Long heldId = holder.get(10, TimeUnit.SECONDS).get(0).getId();
+        assertEquals(2, relayed.size());
+        assertTrue(relayed.stream().noneMatch(e -> e.getId().equals(heldId)));
+        assertTrue(elapsedMs < 5_000);
+        assertEquals(1, outboxEventRepository.count());
+    }
+    
+    private List<OutboxEvent> captureDelivered() {
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<OutboxEvent>> captor = ArgumentCaptor.forClass(List.class);
+        verify(outboxSink, atLeastOnce()).deliver(captor.capture());
+        List<OutboxEvent> delivered = new ArrayList<>();
+        captor.getAllValues().forEach(delivered::addAll);
+        return delivered;
+    }
+    
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.project.banking.service;
+
+import com.project.banking.config.CacheConfig;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SecondLevelCacheTest {
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    
+    private Statistics statistics;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        entityManagerFactory.getCache().evictAll();
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+        transactionService.createTransaction("alice", "bob", 2_500);
+    }
+    
+    @Test
+    void getTransactionPageByUserId_RepeatedCall_ShouldOnlyReadThePage() {
+        // Given
+        long cold = statementsOf(this::historyOfAlice);
+        
+        // When
+        long warm = statementsOf(this::historyOfAlice);
+        
+        // Then: the profile comes from the cache, the page is read again
+        assertEquals(2, cold);
+        assertEquals(1, warm);
+        assertEquals(1, historyOfAlice().getItems().size());
+    }
+    
+    @Test
+    void createTransaction_ShouldShowInNextHistoryPage() {
+        // Given
+        historyOfAlice();
+        
+        // When
+        transactionService.createTransaction("bob", "alice", 1_000);
+        
+        // Then
+        assertEquals(1, statementsOf(this::historyOfAlice));
+        assertEquals(2, historyOfAlice().getItems().size());
+    }
+    
+    @Test
+    void getTransactionStats_RepeatedCall_ShouldRunNoStatements() {
+        // Given
+        long cold = statementsOf(() -> userService.getTransactionStats("alice"));
+        
+        // When
+        long warm = statementsOf(() -> userService.getTransactionStats("alice"));
+        
+        // Then: the profile and the totals come from the cache
+        assertEquals(2, cold);
+        assertEquals(0, warm);
+    }
+    
+    @Test
+    void createTransaction_ShouldEvictCachedStats() {
+        // Given
+        userService.getTransactionStats("alice");
+        
+        // When
+        transactionService.createTransaction("alice", "bob", 1_000);
+        
+        // Then: only the totals are read again
+        assertEquals(1, statementsOf(() -> userService.getTransactionStats("alice")));
+        assertEquals(3_500, userService.getTransactionStats("alice").getSentAmount());
+    }
+    
+    @Test
+    void createTransaction_RepeatedCreditToSameRecipient_ShouldNotReadItsShardCountAgain() {
+        // Given: bob's shard count was cached by the transfer in setUp
+        entityManagerFactory.getCache().unwrap(Cache.class).evictQueryRegion(CacheConfig.USER_SHARD_COUNTS);
+        long cold = statementsOf(() -> transactionService.createTransaction("alice", "bob", 100));
+        
+        // When
+        long warm = statementsOf(() -> transactionService.createTransaction("alice", "bob", 100));
+        
+        // Then
+        assertEquals(cold - 1, warm);
+        assertEquals(1, statistics.getQueryRegionStatistics(CacheConfig.USER_SHARD_COUNTS).getHitCount());
+    }
+    
+    @Test
+    void updateBalance_ShouldShowInNextStats() {
+        // Given
+        userService.getTransactionStats("alice");
+        
+        // When
+        userService.updateBalance("alice", 50_000);
+        
+        // Then: the profile is still cached, the totals are read again
+        assertEquals(1, statementsOf(() -> userService.getTransactionStats("alice")));
+        assertEquals(2_500, userService.getTransactionStats("alice").getSentAmount());
+    }
+    
+    @Test
+    void getUserById_ShouldStillReadCurrentBalance() {
+        // Given: profiles are cached, full users are not
+        historyOfAlice();
+        
+        // When
+        transactionService.createTransaction("bob", "alice", 1_000);
+        
+        // Then
+        assertEquals(8_500, userRepository.findById("alice").orElseThrow().getBalance());
+    }
+    
+    private TransactionPage<TransactionSummary> historyOfAlice() {
+        return transactionService.getTransactionPageByUserId("alice", null, TransactionService.DEFAULT_PAGE_SIZE,
+                null, null);
+    }
+    
+    private long statementsOf(Runnable read) {
+        statistics.clear();
+        read.run();
+        return statistics.getPrepareStatementCount();
+    }
+}
@@ -0,0 +1,74 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.BatchTransferResponse;
+import com.project.banking.dto.BatchTransferResult;
+import com.project.banking.dto.TransactionRequest;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionBatchTest {
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+
+    @Test
+    void createTransactions_ShouldApplyValidItemsInOrderAndReportEachItem() {
+        // Given
+        List<TransactionRequest> requests = List.of(
+                new TransactionRequest("alice", "bob", 6_000),
+                new TransactionRequest("alice", "bob", 6_000),
+                new TransactionRequest("bob", "alice", 1_000),
+                new TransactionRequest("alice", "nobody", 100),
+                new TransactionRequest("alice", "alice", 100));
+
+        // When
+        BatchTransferResponse response = transactionService.createTransactions(requests);
+
+        // Then
+        List<BatchTransferResult> results = response.getResults();
+        assertEquals(2, response.getApplied());
+        assertEquals(3, response.getRejected());
+        assertEquals(BatchTransferResult.Status.APPLIED, results.get(0).getStatus());
+        assertNotNull(results.get(0).getTransactionId());
+        assertEquals("Insufficient balance. Available: 40.00, Required: 60.00", results.get(1).getError());
+        assertEquals(BatchTransferResult.Status.APPLIED, results.get(2).getStatus());
+        assertEquals("Recipient not found with id: nobody", results.get(3).getError());
+        assertEquals("Sender and recipient cannot be the same", results.get(4).getError());
+
+        assertEquals(5_000, userRepository.findById("alice").orElseThrow().getBalance());
+        assertEquals(5_000, userRepository.findById("bob").orElseThrow().getBalance());
+        assertEquals(2, transactionRepository.count());
+    }
+
+    @Test
+    void createTransactions_WithEmptyBatch_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class, () -> transactionService.createTransactions(List.of()));
+    }
+}
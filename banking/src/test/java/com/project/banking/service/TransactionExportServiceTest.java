@@ -0,0 +1,65 @@
+package com.project.banking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionExportServiceTest {
+
+    private static final int ROWS = 2500;
+
+    @Autowired
+    private TransactionExportService transactionExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User sender = userRepository.save(new User("sender1", "Alice", "alice@example.com", 100_000));
+        User recipient = userRepository.save(new User("recipient1", "Bob", "bob@example.com", 50_000));
+        for (int i = 0; i < ROWS; i++) {
+            transactionRepository.save(new Transaction(sender, recipient, 150));
+        }
+    }
+
+    @Test
+    void exportNdjson_ShouldWriteOneJsonObjectPerLine() throws Exception {
+        // When
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = transactionExportService.exportNdjson(null, null, out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(ROWS, rows);
+        assertEquals(ROWS, lines.length);
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertEquals("sender1", first.get("senderId").asText());
+        assertEquals("recipient1", first.get("recipientId").asText());
+        assertTrue(lines[0].contains("\"amount\":1.50"), lines[0]);
+    }
+}
@@ -0,0 +1,72 @@
+package com.project.banking.service;
+
+import com.project.banking.exception.InsufficientBalanceException;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionMetricsTest {
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private MeterRegistry meterRegistry;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void createTransaction_WhenCommitted_ShouldRecordEveryPhase() {
+        // Given
+        long committedBefore = transferCount("committed");
+        
+        // When
+        transactionService.createTransaction("alice", "bob", 2_500);
+        
+        // Then
+        assertEquals(committedBefore + 1, transferCount("committed"));
+        for (String phase : new String[] {"validation", "lock_wait", "balance_update", "insert", "commit"}) {
+            assertTrue(meterRegistry.get("banking.transfer.phase").tag("phase", phase).timer().count() > 0, phase);
+        }
+    }
+    
+    @Test
+    void createTransaction_WithInsufficientBalance_ShouldRecordRollback() {
+        // Given
+        long rolledBackBefore = transferCount("rolled_back");
+        
+        // When
+        assertThrows(InsufficientBalanceException.class,
+                () -> transactionService.createTransaction("bob", "alice", 100));
+        
+        // Then
+        assertEquals(rolledBackBefore + 1, transferCount("rolled_back"));
+    }
+    
+    private long transferCount(String outcome) {
+        return meterRegistry.get("banking.transfer").tag("outcome", outcome).timer().count();
+    }
+}
@@ -0,0 +1,128 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.TransactionDirection;
+import com.project.banking.dto.TransactionPage;
+import com.project.banking.dto.TransactionSummary;
+import com.project.banking.dto.TransactionView;
+import com.project.banking.model.Transaction;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class TransactionPaginationTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+
+        User alice = userRepository.save(new User("alice", "Alice", "alice@example.com", 100_000));
+        User bob = userRepository.save(new User("bob", "Bob", "bob@example.com", 100_000));
+        User carol = userRepository.save(new User("carol", "Carol", "carol@example.com", 100_000));
+
+        // Pairs of transactions share a timestamp so the id tie-breaker is exercised
+        for (int i = 0; i < 10; i++) {
+            Transaction transaction = new Transaction(i % 2 == 0 ? alice : bob, i % 2 == 0 ? bob : carol, i + 1);
+            transaction.setTimestamp(BASE.plusMinutes(i / 2));
+            transactionRepository.save(transaction);
+        }
+    }
+
+    @Test
+    void getTransactionPage_WalkingAllPages_ShouldReturnEveryRowOnceInOrder() {
+        // When
+        List<TransactionView> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage<TransactionView> page = transactionService.getTransactionPage(cursor, 3, null, null);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(10, seen.size());
+        for (int i = 1; i < seen.size(); i++) {
+            TransactionView previous = seen.get(i - 1);
+            TransactionView current = seen.get(i);
+            assertTrue(previous.getTimestamp().isAfter(current.getTimestamp())
+                    || (previous.getTimestamp().equals(current.getTimestamp()) && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void getTransactionPage_ShouldProjectBothPartiesByIdAndName() {
+        // When
+        TransactionView newest = transactionService.getTransactionPage(null, 1, null, null).getItems().get(0);
+
+        // Then: the last transfer seeded is bob -> carol
+        assertEquals("bob", newest.getSenderId());
+        assertEquals("Bob", newest.getSenderName());
+        assertEquals("carol", newest.getRecipientId());
+        assertEquals("Carol", newest.getRecipientName());
+        assertEquals(10, newest.getAmount());
+    }
+
+    @Test
+    void getTransactionPageByUserId_WithTimeRange_ShouldOnlyReturnRowsInRange() {
+        // When
+        TransactionPage<TransactionSummary> page = transactionService.getTransactionPageByUserId(
+                "alice", null, 10, BASE.plusMinutes(1), BASE.plusMinutes(4));
+
+        // Then
+        assertEquals(3, page.getItems().size());
+        assertNull(page.getNextCursor());
+        assertTrue(page.getItems().stream().allMatch(t -> t.getDirection() == TransactionDirection.SENT));
+        assertTrue(page.getItems().stream().allMatch(t -> t.getCounterpartyId().equals("bob")));
+    }
+
+    @Test
+    void getTransactionPageByUserId_ForUserOnBothSides_ShouldMergeSentAndReceived() {
+        // When
+        List<TransactionSummary> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TransactionPage<TransactionSummary> page = transactionService.getTransactionPageByUserId("bob", cursor, 4, null, null);
+            seen.addAll(page.getItems());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        // Then
+        assertEquals(10, seen.size());
+        assertEquals(5, seen.stream().filter(t -> t.getDirection() == TransactionDirection.RECEIVED).count());
+        for (int i = 1; i < seen.size(); i++) {
+            assertFalse(seen.get(i).getTimestamp().isAfter(seen.get(i - 1).getTimestamp()));
+        }
+    }
+
+    @Test
+    void getTransactionPage_WithInvalidCursorOrSize_ShouldThrowException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionPage("not-a-cursor", 10, null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> transactionService.getTransactionPage(null, TransactionService.MAX_PAGE_SIZE + 1, null, null));
+    }
+}
@@ -0,0 +1,65 @@
+package com.project.banking.service;
+
+import com.project.banking.service.TransactionPartitionManager.Partition;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Partition DDL needs PostgreSQL; these cover deciding what to create and what to detach
+class TransactionPartitionManagerTest {
+    
+    private static final LocalDate OCTOBER = LocalDate.of(2026, 10, 1);
+    
+    @Test
+    void parse_ShouldReadRangeBoundsAndIgnoreTheDefaultPartition() {
+        // When
+        Partition legacy = Partition.parse("transactions_legacy",
+                "FOR VALUES FROM (MINVALUE) TO ('2026-09-01 00:00:00')");
+        Partition monthly = Partition.parse("transactions_p2026_09",
+                "FOR VALUES FROM ('2026-09-01 00:00:00') TO ('2026-10-01 00:00:00')");
+        
+        // Then
+        assertNull(legacy.from);
+        assertEquals(LocalDateTime.of(2026, 9, 1, 0, 0), legacy.to);
+        assertEquals(LocalDateTime.of(2026, 9, 1, 0, 0), monthly.from);
+        assertEquals(LocalDateTime.of(2026, 10, 1, 0, 0), monthly.to);
+        assertNull(Partition.parse("transactions_default", "DEFAULT"));
+    }
+    
+    @Test
+    void monthsToCreate_ShouldSkipMonthsAlreadyCovered() {
+        // Given
+        List<Partition> partitions = List.of(
+                new Partition("transactions_legacy", null, month(2026, 10)),
+                new Partition("transactions_p2026_10", month(2026, 10), month(2026, 11)));
+        
+        // When
+        List<LocalDate> months = TransactionPartitionManager.monthsToCreate(partitions, OCTOBER, 3);
+        
+        // Then
+        assertEquals(List.of(LocalDate.of(2026, 11, 1), LocalDate.of(2026, 12, 1), LocalDate.of(2027, 1, 1)), months);
+    }
+    
+    @Test
+    void partitionsToDetach_ShouldOnlyReturnPartitionsEntirelyBeforeTheRetentionWindow() {
+        // Given
+        Partition legacy = new Partition("transactions_legacy", null, month(2025, 9));
+        Partition september = new Partition("transactions_p2025_09", month(2025, 9), month(2025, 10));
+        Partition october = new Partition("transactions_p2025_10", month(2025, 10), month(2025, 11));
+        
+        // When
+        List<Partition> detached = TransactionPartitionManager.partitionsToDetach(
+                List.of(legacy, september, october), OCTOBER, 12);
+        
+        // Then
+        assertEquals(List.of(legacy, september), detached);
+    }
+    
+    private static LocalDateTime month(int year, int month) {
+        return LocalDate.of(year, month, 1).atStartOfDay();
+    }
+}
@@ -0,0 +1,83 @@
+package com.project.banking.service;
+
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// A chunk size of 2 puts duplicates both within a chunk and across chunks
+@SpringBootTest(properties = "banking.users.import.chunk-size=2")
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserImportServiceTest {
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+    }
+    
+    @Test
+    void importUsers_ShouldReportEachLineAndCreateOnlyTheValidNewUsers() throws Exception {
+        // Given
+        String body = String.join("\n",
+                "{\"name\":\"Bob\",\"email\":\"bob@example.com\",\"balance\":12.50}",
+                "{\"name\":\"Alice again\",\"email\":\"alice@example.com\"}",
+                "",
+                "{\"name\":\"Carol\",\"email\":\"carol@example.com\"}",
+                "{\"name\":\"Bob again\",\"email\":\"bob@example.com\"}",
+                "{\"name\":\"Dan\",\"email\":\"not-an-email\"}",
+                "{\"name\":",
+                "{\"id\":\"alice\",\"name\":\"Eve\",\"email\":\"eve@example.com\"}",
+                "{\"id\":\"frank\",\"name\":\"Frank\",\"email\":\"frank@example.com\"}");
+        
+        // When
+        String response = mockMvc.perform(post("/api/users/bulk")
+                        .contentType("application/x-ndjson")
+                        .content(body))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        
+        // Then
+        List<String> results = response.lines().toList();
+        assertEquals(8, results.size());
+        assertTrue(results.get(0).startsWith("{\"line\":1,\"status\":\"CREATED\",\"id\":\""));
+        assertTrue(results.get(1).startsWith("{\"line\":2,\"status\":\"DUPLICATE\""));
+        assertTrue(results.get(2).startsWith("{\"line\":4,\"status\":\"CREATED\""));
+        assertTrue(results.get(3).startsWith("{\"line\":5,\"status\":\"DUPLICATE\""));
+        assertTrue(results.get(4).startsWith("{\"line\":6,\"status\":\"INVALID\""));
+        assertTrue(results.get(5).startsWith("{\"line\":7,\"status\":\"INVALID\""));
+        assertTrue(results.get(6).startsWith("{\"line\":8,\"status\":\"DUPLICATE\""));
+        assertEquals("{\"line\":9,\"status\":\"CREATED\",\"id\":\"frank\"}", results.get(7));
+        
+        assertEquals(4, userRepository.count());
+        User bob = userRepository.findAll().stream()
+                .filter(u -> u.getEmail().equals("bob@example.com")).findFirst().orElseThrow();
+        assertEquals(1_250, bob.getBalance());
+        assertEquals(7, UUID.fromString(bob.getId()).version());
+    }
+}
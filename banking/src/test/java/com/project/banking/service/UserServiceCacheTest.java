@@ -0,0 +1,136 @@
+package com.project.banking.service;
+
+import com.project.banking.config.CacheConfig;
+import com.project.banking.dto.UserView;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserServiceCacheTest {
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private TransactionService transactionService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private TransactionRepository transactionRepository;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Cache users;
+
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        cacheManager.getCacheNames().forEach(name -> cacheManager.getCache(name).clear());
+        users = cacheManager.getCache(CacheConfig.USERS);
+
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+
+    @Test
+    void getUserById_ShouldServeRepeatedLookupsFromCache() {
+        // When
+        UserView first = userService.getUserById("alice");
+        jdbcTemplate.update("UPDATE users SET balance_cents = 1 WHERE id = 'alice'");
+        UserView second = userService.getUserById("alice");
+
+        // Then: the cache holds a view, not the entity
+        assertInstanceOf(UserView.class, users.get("alice").get());
+        assertEquals(first.getBalance(), second.getBalance());
+    }
+
+    @Test
+    void getUserById_PutAfterConcurrentEviction_ShouldBeDropped() {
+        // Given: a lookup missed and read alice before a transfer committed
+        assertNull(users.get("alice"));
+        UserView stale = UserView.of(userRepository.findById("alice").orElseThrow());
+
+        // When: the transfer evicts first, then the lookup's deferred put lands
+        transactionService.createTransaction("alice", "bob", 2_500);
+        users.put("alice", stale);
+
+        // Then
+        assertNull(users.get("alice"));
+        assertEquals(7_500, userService.getUserById("alice").getBalance());
+    }
+
+    @Test
+    void getUserById_WithUnknownUser_ShouldNotHoldBackLaterPuts() {
+        // Given: a lookup of a user that does not exist yet
+        assertThrows(EntityNotFoundException.class, () -> userService.getUserById("carol"));
+
+        // When: carol is created, and a value for her is put on the same thread
+        User carol = userService.createUser(new User("carol", "Carol", "carol@example.com", 300));
+        users.put("carol", UserView.of(carol));
+
+        // Then
+        assertNotNull(users.get("carol"));
+        assertEquals(300, userService.getUserById("carol").getBalance());
+    }
+
+    @Test
+    void updateBalance_ShouldEvictCachedUser() {
+        // Given
+        userService.getUserById("alice");
+
+        // When
+        userService.updateBalance("alice", 500);
+
+        // Then
+        assertNull(users.get("alice"));
+        assertEquals(500, userService.getUserById("alice").getBalance());
+    }
+
+    @Test
+    void createTransaction_ShouldEvictBothUsersAfterCommit() {
+        // Given
+        userService.getUserById("alice");
+        userService.getUserById("bob");
+
+        // When
+        transactionService.createTransaction("alice", "bob", 2_500);
+
+        // Then
+        assertNull(users.get("alice"));
+        assertNull(users.get("bob"));
+        assertEquals(7_500, userService.getUserById("alice").getBalance());
+        assertEquals(2_500, userService.getUserById("bob").getBalance());
+    }
+
+    @Test
+    void userExists_ShouldOnlyCachePositiveAnswers() {
+        // When
+        assertTrue(userService.userExists("alice"));
+        assertFalse(userService.userExists("carol"));
+
+        // Then
+        Cache exists = cacheManager.getCache(CacheConfig.USER_EXISTS);
+        assertNotNull(exists.get("alice"));
+        assertNull(exists.get("carol"));
+    }
+}
@@ -0,0 +1,109 @@
+package com.project.banking.service;
+
+import com.project.banking.dto.UserTransactionStats;
+import com.project.banking.model.User;
+import com.project.banking.repository.TransactionRepository;
+import com.project.banking.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class UserTransactionStatsTest {
+    
+    @Autowired
+    private TransactionService transactionService;
+    
+    @Autowired
+    private UserService userService;
+    
+    @Autowired
+    private LedgerService ledgerService;
+    
+    @Autowired
+    private UserRepository userRepository;
+    
+    @Autowired
+    private TransactionRepository transactionRepository;
+    
+    @Autowired
+    private MockMvc mockMvc;
+    
+    @BeforeEach
+    void setUp() {
+        transactionRepository.deleteAll();
+        userRepository.deleteAll();
+        
+        userRepository.save(new User("alice", "Alice", "alice@example.com", 10_000));
+        userRepository.save(new User("bob", "Bob", "bob@example.com", 0));
+    }
+    
+    @Test
+    void getTransactionStats_ShouldCountTransfersBeforeAndAfterCompaction() {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        transactionService.createTransaction("bob", "alice", 1_000);
+        ledgerService.compact("alice", 0, 100);
+        transactionService.createTransaction("alice", "bob", 300);
+        userService.updateBalance("alice", 50_000);
+        
+        // When
+        UserTransactionStats stats = userService.getTransactionStats("alice");
+        
+        // Then
+        assertEquals(2, stats.getSentCount());
+        assertEquals(2_800, stats.getSentAmount());
+        assertEquals(1, stats.getReceivedCount());
+        assertEquals(1_000, stats.getReceivedAmount());
+        assertNotNull(stats.getLastActivityAt());
+    }
+    
+    @Test
+    void compact_ShouldNotChangeTransactionStats() {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        userService.updateBalanceShards("bob", 2);
+        transactionService.createTransaction("alice", "bob", 500);
+        transactionService.createTransaction("bob", "alice", 100);
+        UserTransactionStats before = userService.getTransactionStats("bob");
+        
+        // When
+        for (int shard = 0; shard <= 2; shard++) {
+            ledgerService.compact("bob", shard, 100);
+        }
+        UserTransactionStats after = userService.getTransactionStats("bob");
+        
+        // Then
+        assertEquals(2, after.getReceivedCount());
+        assertEquals(3_000, after.getReceivedAmount());
+        assertEquals(before.getReceivedAmount(), after.getReceivedAmount());
+        assertEquals(before.getSentCount(), after.getSentCount());
+        assertEquals(before.getLastActivityAt(), after.getLastActivityAt());
+    }
+    
+    @Test
+    void getStats_ShouldReturnTotalsAsAmounts() throws Exception {
+        // Given
+        transactionService.createTransaction("alice", "bob", 2_500);
+        
+        // When / Then
+        mockMvc.perform(get("/api/users/bob/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.receivedCount").value(1))
+                .andExpect(jsonPath("$.receivedAmount").value(25.00))
+                .andExpect(jsonPath("$.sentCount").value(0));
+        mockMvc.perform(get("/api/users/nobody/stats"))
+                .andExpect(status().isNotFound());
+    }
+}